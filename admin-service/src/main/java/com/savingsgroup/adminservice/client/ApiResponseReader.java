@@ -0,0 +1,66 @@
+package com.savingsgroup.adminservice.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Reads the {@code data} array of an {@code ApiResponse} body one element at a time, so a
+ * listing of any size is processed without materialising the list or its JSON tree.
+ */
+public final class ApiResponseReader {
+
+    private ApiResponseReader() {
+    }
+
+    /**
+     * Passes each element of {@code data} to {@code action} and returns how many there were.
+     *
+     * @throws IOException if the body is not JSON, or {@code success} is false
+     */
+    public static <T> long forEachData(ObjectMapper objectMapper, InputStream body, Class<T> type,
+                                       Consumer<? super T> action) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(type);
+        long count = 0;
+        String message = null;
+        boolean success = true;
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected an ApiResponse object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                    if (parser.nextToken() == JsonToken.END_ARRAY) {
+                        continue;
+                    }
+                    // Positioned on the first element, one iterator reads the rest of the array
+                    // with one deserialization context rather than one per element
+                    try (MappingIterator<T> elements = reader.readValues(parser)) {
+                        while (elements.hasNextValue()) {
+                            action.accept(elements.nextValue());
+                            count++;
+                        }
+                    }
+                } else if ("success".equals(field)) {
+                    success = parser.getBooleanValue();
+                } else if ("message".equals(field)) {
+                    message = parser.getValueAsString();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        if (!success) {
+            throw new IOException("Request failed: " + message);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,21 @@
+package com.savingsgroup.adminservice.client;
+
+import com.savingsgroup.adminservice.dto.JwksDTO;
+import com.savingsgroup.adminservice.dto.RevocationFilterDTO;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+
+import java.util.Map;
+
+@FeignClient(name = "auth-service")
+public interface AuthServiceClient {
+    @GetMapping("/api/auth/revocations/filter")
+    RevocationFilterDTO getRevocationFilter();
+
+    @GetMapping("/api/auth/revocations/{jti}")
+    Map<String, Boolean> getRevocationStatus(@PathVariable("jti") String jti);
+
+    @GetMapping("/.well-known/jwks.json")
+    JwksDTO getJwks();
+}
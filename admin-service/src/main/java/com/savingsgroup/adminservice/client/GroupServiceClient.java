@@ -2,9 +2,13 @@ package com.savingsgroup.adminservice.client;
 
 import com.savingsgroup.adminservice.dto.ApiResponse;
 import com.savingsgroup.adminservice.dto.GroupDTO;
+import com.savingsgroup.adminservice.dto.GroupStatsDTO;
+import feign.Response;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @FeignClient(name = "group-service")
@@ -12,6 +16,20 @@ public interface GroupServiceClient {
     @GetMapping("/api/groups")
     ApiResponse<List<GroupDTO>> getAllGroups();
 
+    @GetMapping("/api/groups/stats")
+    ApiResponse<GroupStatsDTO> getGroupStats();
+
+    /**
+     * Groups with {@code updatedAt} after {@code since}, deletions included as tombstones, as an
+     * {@code ApiResponse} list of {@link GroupDTO} plus {@code updatedAt}, {@code deleted} and the
+     * organizer's {@code phoneNumber}. Without {@code since}, every live group. The
+     * raw response is returned so the caller can read it as a stream; it must be closed.
+     */
+    @GetMapping("/api/groups/changes")
+    Response streamGroupChanges(
+            @RequestParam(value = "since", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since);
+
     @GetMapping("/api/groups/{groupId}")
     ApiResponse<GroupDTO> getGroupById(@PathVariable String groupId);
 
@@ -0,0 +1,82 @@
+package com.savingsgroup.adminservice.client;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+
+/**
+ * Reads {@code yyyy-MM-ddTHH:mm[:ss[.fraction]]} without going through
+ * {@link java.time.format.DateTimeFormatter}, which allocates a map per value; anything else
+ * is left to {@link LocalDateTime#parse}. Used on fields read once per record in large listings.
+ */
+public class IsoLocalDateTimeDeserializer extends StdScalarDeserializer<LocalDateTime> {
+
+    public IsoLocalDateTimeDeserializer() {
+        super(LocalDateTime.class);
+    }
+
+    @Override
+    public LocalDateTime deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            return (LocalDateTime) context.handleUnexpectedToken(LocalDateTime.class, parser);
+        }
+        try {
+            // Read straight from the parser's buffer, so no String is built for the common format
+            LocalDateTime parsed = parse(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            return parsed != null ? parsed : LocalDateTime.parse(parser.getText());
+        } catch (DateTimeException e) {
+            return (LocalDateTime) context.handleWeirdStringValue(LocalDateTime.class, parser.getText(), e.getMessage());
+        }
+    }
+
+    static LocalDateTime parse(char[] buffer, int offset, int length) {
+        if (length < 16 || buffer[offset + 4] != '-' || buffer[offset + 7] != '-' || buffer[offset + 10] != 'T'
+                || buffer[offset + 13] != ':') {
+            return null;
+        }
+        int year = digits(buffer, offset, 4);
+        int month = digits(buffer, offset + 5, 2);
+        int day = digits(buffer, offset + 8, 2);
+        int hour = digits(buffer, offset + 11, 2);
+        int minute = digits(buffer, offset + 14, 2);
+        int second = 0;
+        int nanos = 0;
+        if (length > 16) {
+            if (length < 19 || buffer[offset + 16] != ':') {
+                return null;
+            }
+            second = digits(buffer, offset + 17, 2);
+            if (length > 19) {
+                if (buffer[offset + 19] != '.' || length == 20 || length > 29) {
+                    return null;
+                }
+                nanos = digits(buffer, offset + 20, length - 20);
+                for (int i = length; i < 29; i++) {
+                    nanos *= 10;
+                }
+            }
+        }
+        if ((year | month | day | hour | minute | second | nanos) < 0) {
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second, nanos);
+    }
+
+    // The value of the count characters at from if they are all ASCII digits, else -1
+    private static int digits(char[] buffer, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
@@ -2,9 +2,12 @@ package com.savingsgroup.adminservice.client;
 
 import com.savingsgroup.adminservice.dto.ApiResponse;
 import com.savingsgroup.adminservice.dto.UserDTO;
+import feign.Response;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @FeignClient(name = "user-service")
@@ -12,6 +15,19 @@ public interface UserServiceClient {
     @GetMapping("/api/users")
     ApiResponse<List<UserDTO>> getAllUsers();
 
+    @GetMapping("/api/users/count")
+    ApiResponse<Long> countUsers();
+
+    /**
+     * Users with {@code updatedAt} after {@code since}, deletions included as tombstones, as an
+     * {@code ApiResponse} list of {@link UserDTO} plus {@code updatedAt} and {@code deleted}. Without {@code since}, every live user. The
+     * raw response is returned so the caller can read it as a stream; it must be closed.
+     */
+    @GetMapping("/api/users/changes")
+    Response streamUserChanges(
+            @RequestParam(value = "since", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since);
+
     @GetMapping("/api/users/{userId}")
     ApiResponse<UserDTO> getUserById(@PathVariable String userId);
 
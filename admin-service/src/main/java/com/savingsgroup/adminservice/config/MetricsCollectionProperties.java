@@ -0,0 +1,26 @@
+package com.savingsgroup.adminservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Deadlines for the remote sources of the hourly metrics run, keyed by source name; sources
+ * without an entry get {@code default-deadline}. Regional counts read full listings, so they
+ * are refreshed only once per {@code region-interval}.
+ */
+@ConfigurationProperties(prefix = "admin.metrics")
+public record MetricsCollectionProperties(Duration defaultDeadline, Map<String, Duration> deadlines,
+                                          Duration regionInterval) {
+
+    public MetricsCollectionProperties {
+        defaultDeadline = defaultDeadline != null ? defaultDeadline : Duration.ofSeconds(5);
+        deadlines = deadlines != null ? Map.copyOf(deadlines) : Map.of();
+        regionInterval = regionInterval != null ? regionInterval : Duration.ofHours(24);
+    }
+
+    public Duration deadline(String source) {
+        return deadlines.getOrDefault(source, defaultDeadline);
+    }
+}
@@ -0,0 +1,18 @@
+package com.savingsgroup.adminservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * How long metrics history is kept: hourly snapshots for {@code hourly}, daily rollups for
+ * {@code daily}; monthly rollups are kept indefinitely.
+ */
+@ConfigurationProperties(prefix = "admin.metrics.retention")
+public record MetricsRetentionProperties(Duration hourly, Duration daily) {
+
+    public MetricsRetentionProperties {
+        hourly = hourly != null ? hourly : Duration.ofDays(90);
+        daily = daily != null ? daily : Duration.ofDays(730);
+    }
+}
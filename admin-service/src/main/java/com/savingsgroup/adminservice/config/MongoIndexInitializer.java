@@ -0,0 +1,61 @@
+package com.savingsgroup.adminservice.config;
+
+import com.savingsgroup.adminservice.model.SystemMetrics;
+import com.savingsgroup.adminservice.model.SystemMetricsRollup;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Ensures the indexes this service relies on once the application is up. Runs on a
+ * background thread so startup never blocks on MongoDB availability.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MongoIndexInitializer {
+
+    private final MongoTemplate mongoTemplate;
+    private final MetricsRetentionProperties retention;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexesAsync() {
+        Thread.ofVirtual().name("mongo-index-init").start(() -> {
+            try {
+                ensureIndexes();
+            } catch (Exception e) {
+                log.warn("Could not ensure MongoDB indexes: {}", e.getMessage());
+            }
+        });
+    }
+
+    void ensureIndexes() {
+        // Serves the latest-snapshot lookup and history range queries, and expires old snapshots
+        ensureIndex(mongoTemplate.indexOps(SystemMetrics.class), new Index("lastUpdated", Sort.Direction.ASC)
+                .expire(retention.hourly()).named("system_metrics_last_updated_ttl"));
+
+        IndexOperations rollups = mongoTemplate.indexOps(SystemMetricsRollup.class);
+        rollups.ensureIndex(new Index("step", Sort.Direction.ASC).on("start", Sort.Direction.ASC)
+                .named("system_metrics_rollups_step_start"));
+        // Only daily buckets have an expireAt
+        rollups.ensureIndex(new Index("expireAt", Sort.Direction.ASC).expire(Duration.ZERO)
+                .named("system_metrics_rollups_expire_ttl"));
+    }
+
+    // A changed retention conflicts with the existing TTL index; it then needs collMod, so report it and carry on
+    private void ensureIndex(IndexOperations indexOps, Index index) {
+        try {
+            indexOps.ensureIndex(index);
+        } catch (Exception e) {
+            log.error("Could not create index {}: {}", index.getIndexOptions().get("name"), e.getMessage());
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package com.savingsgroup.adminservice.config;
 
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
 @EnableScheduling
+@EnableConfigurationProperties({MetricsCollectionProperties.class, MetricsRetentionProperties.class})
 public class SchedulingConfig {
     // Configuration for scheduling tasks
     // The actual scheduling is defined in the SystemMetricsService class
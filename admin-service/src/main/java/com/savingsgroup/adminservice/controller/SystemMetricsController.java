@@ -2,26 +2,90 @@ package com.savingsgroup.adminservice.controller;
 
 
 import com.savingsgroup.adminservice.dto.ApiResponse;
-import com.savingsgroup.adminservice.dto.SystemMetricsDTO;
+import com.savingsgroup.adminservice.dto.MetricsPointDTO;
+import com.savingsgroup.adminservice.dto.RegionMetricsDTO;
+import com.savingsgroup.adminservice.model.MetricsStep;
+import com.savingsgroup.adminservice.service.LatestSystemMetrics;
+import com.savingsgroup.adminservice.service.PhoneRegionResolver;
 import com.savingsgroup.adminservice.service.SystemMetricsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
 @RestController
 @RequestMapping("/api/admin/metrics")
 @RequiredArgsConstructor
 @Slf4j
 public class SystemMetricsController {
 
+    // A calling-code label, e.g. +254; also keeps the region safe to use in a field path
+    private static final Pattern REGION = Pattern.compile("\\+[1-9][0-9]{0,2}|" + PhoneRegionResolver.UNKNOWN);
+
+    private static final int MAX_POINTS = 2_000;
+
     private final SystemMetricsService systemMetricsService;
 
+    // Polled by dashboards: served from the published snapshot, with a 304 when the client's copy is current
     @GetMapping
-    public ResponseEntity<ApiResponse<SystemMetricsDTO>> getSystemMetrics() {
-        log.info("Fetching system metrics");
-        SystemMetricsDTO metrics = systemMetricsService.getLatestSystemMetrics();
-        return ResponseEntity.ok(ApiResponse.success("System metrics retrieved successfully", metrics));
+    public ResponseEntity<byte[]> getSystemMetrics() {
+        log.debug("Fetching system metrics");
+        LatestSystemMetrics.Snapshot snapshot = systemMetricsService.getLatestSnapshot();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(snapshot.etag());
+        if (snapshot.lastModified() != null) {
+            response.lastModified(snapshot.lastModified());
+        }
+        return response.body(snapshot.body());
+    }
+
+    @GetMapping("/history")
+    public ResponseEntity<ApiResponse<List<MetricsPointDTO>>> getMetricsHistory(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String step) {
+
+        if (!from.isBefore(to)) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("from must be before to"));
+        }
+        MetricsStep resolution;
+        try {
+            resolution = step != null ? MetricsStep.valueOf(step.toUpperCase(Locale.ROOT)) : MetricsStep.forRange(from, to);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error("step must be hour, day or month"));
+        }
+        if (resolution.points(from, to) > MAX_POINTS) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Range has more than " + MAX_POINTS + " points at step " + resolution.name().toLowerCase(Locale.ROOT)));
+        }
+        log.info("Fetching metrics history between {} and {} by {}", from, to, resolution);
+        List<MetricsPointDTO> history = systemMetricsService.getMetricsHistory(from, to, resolution);
+        return ResponseEntity.ok(ApiResponse.success("Metrics history retrieved successfully", history));
+    }
+
+    @GetMapping("/regions/{region}")
+    public ResponseEntity<ApiResponse<List<RegionMetricsDTO>>> getRegionHistory(
+            @PathVariable String region,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+
+        if (!REGION.matcher(region).matches()) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("Region must be a calling code such as +254, or UNKNOWN"));
+        }
+        log.info("Fetching metrics for region {} between {} and {}", region, from, to);
+        List<RegionMetricsDTO> history = systemMetricsService.getRegionHistory(region, from, to);
+        return ResponseEntity.ok(ApiResponse.success("Region metrics retrieved successfully", history));
     }
 
     @PostMapping("/refresh")
@@ -0,0 +1,31 @@
+package com.savingsgroup.adminservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.savingsgroup.adminservice.client.IsoLocalDateTimeDeserializer;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The fields of a user or group change-feed entry that metrics collection reads; the rest of
+ * the record is skipped while parsing.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class EntityChangeDTO {
+    private String id;
+    private String status;
+    private String phoneNumber; // a group's is its organizer's
+    @JsonDeserialize(using = IsoLocalDateTimeDeserializer.class)
+    private LocalDateTime createdAt;
+    @JsonDeserialize(using = IsoLocalDateTimeDeserializer.class)
+    private LocalDateTime updatedAt;
+    private boolean deleted; // tombstone for a record deleted after the requested time
+}
@@ -0,0 +1,17 @@
+package com.savingsgroup.adminservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GroupStatsDTO {
+    private long totalGroups;
+    private Map<String, Long> groupsByStatus;
+}
@@ -0,0 +1,30 @@
+package com.savingsgroup.adminservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JwksDTO {
+    private List<Jwk> keys;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Jwk {
+        private String kty;
+        private String crv;
+        private String kid;
+        private String use;
+        private String alg;
+        private String x;
+        private String y;
+    }
+}
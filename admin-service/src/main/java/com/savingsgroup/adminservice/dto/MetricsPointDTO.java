@@ -0,0 +1,23 @@
+package com.savingsgroup.adminservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MetricsPointDTO {
+    private LocalDateTime timestamp; // the snapshot time for hourly points, else the bucket start
+    private int samples;
+    private int totalUsers;
+    private int totalGroups;
+    private int activeGroups;
+    private BigDecimal totalTransactionVolume;
+    private int totalTransactions;
+}
@@ -0,0 +1,18 @@
+package com.savingsgroup.adminservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RegionMetricsDTO {
+    private LocalDateTime timestamp;
+    private int users;
+    private int groups;
+}
@@ -0,0 +1,18 @@
+package com.savingsgroup.adminservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevocationFilterDTO {
+    private byte[] bits;
+    private int numHashes;
+    private Instant generatedAt;
+}
@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 @Data
@@ -19,7 +20,11 @@ public class SystemMetricsDTO {
     private int totalGroups;
     private int activeGroups;
     private BigDecimal totalTransactionVolume;
+    private int totalTransactions;
+    private Map<String, BigDecimal> transactionVolumeByGroup;
+    private Map<String, Object> gamificationSummary;
     private Map<String, Integer> usersByRegion;
     private Map<String, Integer> groupsByRegion;
     private LocalDateTime lastUpdated;
+    private List<String> staleSources;
 }
@@ -0,0 +1,44 @@
+package com.savingsgroup.adminservice.model;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Resolution of the metrics history. Hourly points are the snapshots themselves; daily and
+ * monthly points are {@link SystemMetricsRollup} buckets.
+ */
+public enum MetricsStep {
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS),
+    MONTH(ChronoUnit.MONTHS);
+
+    // The finest step that keeps a range within this many points is picked when none is given
+    private static final int DEFAULT_POINTS = 500;
+
+    private final ChronoUnit unit;
+
+    MetricsStep(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /** The start of the bucket {@code time} falls in. */
+    public LocalDateTime truncate(LocalDateTime time) {
+        return this == MONTH ? time.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1) : time.truncatedTo(unit);
+    }
+
+    /** How many buckets start in {@code [truncate(from), to)}. */
+    public long points(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = truncate(from);
+        long points = unit.between(start, to);
+        return start.plus(points, unit).isBefore(to) ? points + 1 : points;
+    }
+
+    public static MetricsStep forRange(LocalDateTime from, LocalDateTime to) {
+        for (MetricsStep step : values()) {
+            if (step.points(from, to) <= DEFAULT_POINTS) {
+                return step;
+            }
+        }
+        return MONTH;
+    }
+}
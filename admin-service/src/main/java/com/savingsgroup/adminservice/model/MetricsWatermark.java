@@ -0,0 +1,33 @@
+package com.savingsgroup.adminservice.model;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Running totals for one metrics source, as of the latest {@code updatedAt} read from its
+ * change feed. Each collection run applies only the changes after {@link #watermark}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "system_metrics_watermarks")
+public class MetricsWatermark {
+    @Id
+    private String id; // USERS or GROUPS
+    private LocalDateTime watermark;
+    private long total;
+    @Builder.Default
+    private Map<String, Integer> countsByStatus = new HashMap<>(); // groups only
+    @Builder.Default
+    private Map<String, String> statusById = new HashMap<>(); // groups only, to move counts when a status changes
+}
@@ -10,12 +10,13 @@ import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 @Document(collection = "system_metrics")
 public class SystemMetrics {
     @Id
@@ -24,7 +25,12 @@ public class SystemMetrics {
     private int totalGroups;
     private int activeGroups;
     private BigDecimal totalTransactionVolume;
+    private int totalTransactions;
+    private Map<String, BigDecimal> transactionVolumeByGroup;
+    private Map<String, Object> gamificationSummary;
     private Map<String, Integer> usersByRegion;
     private Map<String, Integer> groupsByRegion;
+    private LocalDateTime regionsUpdated;
     private LocalDateTime lastUpdated;
+    private List<String> staleSources; // sources that failed this run; their values are carried over from the run before
 }
\ No newline at end of file
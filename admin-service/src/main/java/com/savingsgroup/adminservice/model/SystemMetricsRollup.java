@@ -0,0 +1,40 @@
+package com.savingsgroup.adminservice.model;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One day or month of {@link SystemMetrics} snapshots. The totals are gauges, so a bucket holds
+ * the values of its latest snapshot; each snapshot is added to its buckets as it is saved.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "system_metrics_rollups")
+public class SystemMetricsRollup {
+    @Id
+    private String id; // step and start, e.g. DAY:2024-03-01T00:00
+    private MetricsStep step;
+    private LocalDateTime start;
+    private int samples;
+    private int totalUsers;
+    private int totalGroups;
+    private int activeGroups;
+    private BigDecimal totalTransactionVolume;
+    private int totalTransactions;
+    private LocalDateTime lastUpdated;
+    private LocalDateTime expireAt; // unset for buckets kept indefinitely
+
+    public static String id(MetricsStep step, LocalDateTime start) {
+        return step + ":" + start;
+    }
+}
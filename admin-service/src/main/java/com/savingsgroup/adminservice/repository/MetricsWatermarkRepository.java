@@ -0,0 +1,10 @@
+package com.savingsgroup.adminservice.repository;
+
+
+import com.savingsgroup.adminservice.model.MetricsWatermark;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MetricsWatermarkRepository extends MongoRepository<MetricsWatermark, String> {
+}
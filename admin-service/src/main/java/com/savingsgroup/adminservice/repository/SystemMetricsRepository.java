@@ -6,6 +6,6 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface SystemMetricsRepository extends MongoRepository<SystemMetrics, String> {
+public interface SystemMetricsRepository extends MongoRepository<SystemMetrics, String>, SystemMetricsRepositoryCustom {
     SystemMetrics findTopByOrderByLastUpdatedDesc();
 }
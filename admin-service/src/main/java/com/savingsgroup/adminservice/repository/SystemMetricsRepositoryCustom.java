@@ -0,0 +1,22 @@
+package com.savingsgroup.adminservice.repository;
+
+import com.savingsgroup.adminservice.dto.MetricsPointDTO;
+import com.savingsgroup.adminservice.dto.RegionMetricsDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SystemMetricsRepositoryCustom {
+
+    /**
+     * One region's user and group counts from each snapshot in {@code [from, to)}, oldest first.
+     * Only those two map entries are read from each document.
+     */
+    List<RegionMetricsDTO> findRegionHistory(String region, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * The totals of each snapshot in {@code [from, to)}, oldest first, leaving out the per-group
+     * and per-region maps that make up most of each document.
+     */
+    List<MetricsPointDTO> findHistory(LocalDateTime from, LocalDateTime to);
+}
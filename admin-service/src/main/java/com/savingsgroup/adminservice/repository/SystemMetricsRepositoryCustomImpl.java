@@ -0,0 +1,63 @@
+package com.savingsgroup.adminservice.repository;
+
+import com.savingsgroup.adminservice.dto.MetricsPointDTO;
+import com.savingsgroup.adminservice.dto.RegionMetricsDTO;
+import com.savingsgroup.adminservice.model.SystemMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+class SystemMetricsRepositoryCustomImpl implements SystemMetricsRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<RegionMetricsDTO> findRegionHistory(String region, LocalDateTime from, LocalDateTime to) {
+        Query query = Query.query(Criteria.where("lastUpdated").gte(from).lt(to))
+                .with(Sort.by("lastUpdated"));
+        query.fields()
+                .include("lastUpdated")
+                .include("usersByRegion." + region)
+                .include("groupsByRegion." + region);
+        return mongoTemplate.find(query, SystemMetrics.class).stream()
+                .map(metrics -> new RegionMetricsDTO(metrics.getLastUpdated(),
+                        count(metrics.getUsersByRegion(), region),
+                        count(metrics.getGroupsByRegion(), region)))
+                .toList();
+    }
+
+    @Override
+    public List<MetricsPointDTO> findHistory(LocalDateTime from, LocalDateTime to) {
+        Query query = Query.query(Criteria.where("lastUpdated").gte(from).lt(to))
+                .with(Sort.by("lastUpdated"));
+        query.fields()
+                .include("lastUpdated")
+                .include("totalUsers")
+                .include("totalGroups")
+                .include("activeGroups")
+                .include("totalTransactionVolume")
+                .include("totalTransactions");
+        return mongoTemplate.find(query, SystemMetrics.class).stream()
+                .map(metrics -> MetricsPointDTO.builder()
+                        .timestamp(metrics.getLastUpdated())
+                        .samples(1)
+                        .totalUsers(metrics.getTotalUsers())
+                        .totalGroups(metrics.getTotalGroups())
+                        .activeGroups(metrics.getActiveGroups())
+                        .totalTransactionVolume(metrics.getTotalTransactionVolume())
+                        .totalTransactions(metrics.getTotalTransactions())
+                        .build())
+                .toList();
+    }
+
+    private static int count(Map<String, Integer> byRegion, String region) {
+        return byRegion != null ? byRegion.getOrDefault(region, 0) : 0;
+    }
+}
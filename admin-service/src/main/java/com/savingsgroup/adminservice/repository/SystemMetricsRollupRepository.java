@@ -0,0 +1,17 @@
+package com.savingsgroup.adminservice.repository;
+
+
+import com.savingsgroup.adminservice.model.MetricsStep;
+import com.savingsgroup.adminservice.model.SystemMetricsRollup;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SystemMetricsRollupRepository extends MongoRepository<SystemMetricsRollup, String>,
+        SystemMetricsRollupRepositoryCustom {
+    List<SystemMetricsRollup> findByStepAndStartGreaterThanEqualAndStartLessThanOrderByStartAsc(
+            MetricsStep step, LocalDateTime from, LocalDateTime to);
+}
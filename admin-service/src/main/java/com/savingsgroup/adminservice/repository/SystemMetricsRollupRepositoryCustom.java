@@ -0,0 +1,15 @@
+package com.savingsgroup.adminservice.repository;
+
+import com.savingsgroup.adminservice.model.MetricsStep;
+import com.savingsgroup.adminservice.model.SystemMetrics;
+
+import java.time.LocalDateTime;
+
+public interface SystemMetricsRollupRepositoryCustom {
+
+    /**
+     * Upserts the {@code step} bucket {@code snapshot} falls in with the snapshot's totals.
+     * {@code expireAt}, if not null, is set when the bucket is created.
+     */
+    void addSample(MetricsStep step, SystemMetrics snapshot, LocalDateTime expireAt);
+}
@@ -0,0 +1,39 @@
+package com.savingsgroup.adminservice.repository;
+
+import com.savingsgroup.adminservice.model.MetricsStep;
+import com.savingsgroup.adminservice.model.SystemMetrics;
+import com.savingsgroup.adminservice.model.SystemMetricsRollup;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+
+@RequiredArgsConstructor
+class SystemMetricsRollupRepositoryCustomImpl implements SystemMetricsRollupRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void addSample(MetricsStep step, SystemMetrics snapshot, LocalDateTime expireAt) {
+        LocalDateTime start = step.truncate(snapshot.getLastUpdated());
+        // One round trip per bucket, whether it exists yet or not
+        Update update = new Update()
+                .setOnInsert("step", step)
+                .setOnInsert("start", start)
+                .set("totalUsers", snapshot.getTotalUsers())
+                .set("totalGroups", snapshot.getTotalGroups())
+                .set("activeGroups", snapshot.getActiveGroups())
+                .set("totalTransactionVolume", snapshot.getTotalTransactionVolume())
+                .set("totalTransactions", snapshot.getTotalTransactions())
+                .set("lastUpdated", snapshot.getLastUpdated())
+                .inc("samples", 1);
+        if (expireAt != null) {
+            update.setOnInsert("expireAt", expireAt);
+        }
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(SystemMetricsRollup.id(step, start))),
+                update, SystemMetricsRollup.class);
+    }
+}
@@ -0,0 +1,53 @@
+package com.savingsgroup.adminservice.security;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Read-only view of the revocation Bloom filter published by auth-service. The probe
+ * sequence must stay identical to auth-service's {@code BloomFilter}.
+ */
+final class BloomFilter {
+
+    private final long[] words;
+    private final long bitMask;
+    private final int numHashes;
+
+    private BloomFilter(long[] words, int numHashes) {
+        this.words = words;
+        this.bitMask = (long) words.length * Long.SIZE - 1;
+        this.numHashes = numHashes;
+    }
+
+    static BloomFilter fromBytes(byte[] bits, int numHashes) {
+        if (bits == null || Integer.bitCount(bits.length) != 1 || bits.length < Long.BYTES) {
+            throw new IllegalArgumentException("Filter size must be a power-of-two number of words");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bits);
+        long[] words = new long[bits.length / Long.BYTES];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = buffer.getLong();
+        }
+        return new BloomFilter(words, numHashes);
+    }
+
+    boolean mightContain(String value) {
+        long hash1 = mix(value.hashCode() * 0x9E3779B97F4A7C15L + value.length());
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < numHashes; i++) {
+            long bit = (hash1 + i * hash2) & bitMask;
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB93FE1A85EC3L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
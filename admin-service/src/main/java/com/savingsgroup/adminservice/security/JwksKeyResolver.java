@@ -0,0 +1,136 @@
+package com.savingsgroup.adminservice.security;
+
+import com.savingsgroup.adminservice.client.AuthServiceClient;
+import com.savingsgroup.adminservice.dto.JwksDTO;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Resolves token verification keys by {@code kid} from a local copy of auth-service's JWKS,
+ * refreshed in the background every {@code jwt.jwks.refresh-interval}. auth-service publishes
+ * the next key a full rotation ahead, so a token with an unknown kid is normally forged or
+ * from a freshly started key set; it triggers at most one fetch per
+ * {@code jwt.jwks.min-refresh-interval}, shared by all concurrent requests.
+ */
+@Component
+@Slf4j
+public class JwksKeyResolver extends SigningKeyResolverAdapter {
+
+    private final AuthServiceClient authServiceClient;
+    private final long minRefreshIntervalNanos;
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private final Counter scheduledRefreshes;
+    private final Counter unknownKidRefreshes;
+
+    private volatile Map<String, PublicKey> keys = Map.of();
+    private volatile long lastFetchNanos;
+
+    public JwksKeyResolver(
+            AuthServiceClient authServiceClient,
+            MeterRegistry meterRegistry,
+            @Value("${jwt.jwks.min-refresh-interval:30s}") Duration minRefreshInterval
+    ) {
+        this.authServiceClient = authServiceClient;
+        this.minRefreshIntervalNanos = minRefreshInterval.toNanos();
+        this.lastFetchNanos = System.nanoTime() - minRefreshIntervalNanos;
+        this.scheduledRefreshes = Counter.builder("admin.jwt.jwks.refreshes").tag("trigger", "scheduled")
+                .register(meterRegistry);
+        this.unknownKidRefreshes = Counter.builder("admin.jwt.jwks.refreshes").tag("trigger", "unknown_kid")
+                .register(meterRegistry);
+        meterRegistry.gauge("admin.jwt.jwks.keys", this, resolver -> resolver.keys.size());
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            throw new UnsupportedJwtException("Token has no key id");
+        }
+        PublicKey key = keys.get(kid);
+        if (key == null) {
+            key = fetchForUnknownKid(kid);
+        }
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown signing key " + kid);
+        }
+        return key;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.jwks.refresh-interval:300000}")
+    public void refresh() {
+        refreshLock.lock();
+        try {
+            scheduledRefreshes.increment();
+            fetch();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private PublicKey fetchForUnknownKid(String kid) {
+        refreshLock.lock();
+        try {
+            // A request that waited on the lock may find the key already fetched
+            PublicKey key = keys.get(kid);
+            if (key != null || System.nanoTime() - lastFetchNanos < minRefreshIntervalNanos) {
+                return key;
+            }
+            unknownKidRefreshes.increment();
+            fetch();
+            return keys.get(kid);
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    // Callers hold refreshLock; on failure the previous keys stay in use
+    private void fetch() {
+        lastFetchNanos = System.nanoTime();
+        try {
+            JwksDTO jwks = authServiceClient.getJwks();
+            Map<String, PublicKey> fetched = new HashMap<>();
+            for (JwksDTO.Jwk jwk : jwks.getKeys()) {
+                if ("EC".equals(jwk.getKty()) && "P-256".equals(jwk.getCrv()) && jwk.getKid() != null) {
+                    fetched.put(jwk.getKid(), toPublicKey(jwk));
+                }
+            }
+            keys = Map.copyOf(fetched);
+        } catch (Exception e) {
+            log.warn("Could not refresh JWKS from auth-service: {}", e.getMessage());
+        }
+    }
+
+    private static PublicKey toPublicKey(JwksDTO.Jwk jwk) throws GeneralSecurityException {
+        AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+        parameters.init(new ECGenParameterSpec("secp256r1"));
+        ECParameterSpec spec = parameters.getParameterSpec(ECParameterSpec.class);
+        ECPoint point = new ECPoint(
+                new BigInteger(1, Base64.getUrlDecoder().decode(jwk.getX())),
+                new BigInteger(1, Base64.getUrlDecoder().decode(jwk.getY())));
+        return KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(point, spec));
+    }
+}
@@ -1,57 +1,49 @@
 package com.savingsgroup.adminservice.security;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
-import java.util.Date;
+import java.util.Collections;
 import java.util.List;
 
+/**
+ * Verifies access tokens issued by auth-service against its published ES256 keys, without
+ * calling auth-service per request.
+ */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class JwtTokenProvider {
 
-    @Value("${jwt.secret:defaultSecretKeyWhichShouldBeOverriddenInProduction}")
-    private String jwtSecret;
+    private final JwksKeyResolver jwksKeyResolver;
 
     @Value("${jwt.expiration:86400000}")
     private long jwtExpirationMs;
 
-    private Key key;
+    private JwtParser parser;
 
     @PostConstruct
     public void init() {
-        this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKeyResolver(jwksKeyResolver).build();
     }
 
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.getSubject();
+        return parser.parseClaimsJws(token).getBody().getSubject();
     }
 
-    @SuppressWarnings("unchecked")
     public List<String> getRolesFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return (List<String>) claims.get("roles");
+        return getRoles(parser.parseClaimsJws(token).getBody());
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+            parser.parseClaimsJws(token);
             return true;
         } catch (MalformedJwtException e) {
             log.error("Invalid JWT token: {}", e.getMessage());
@@ -65,4 +57,36 @@ public class JwtTokenProvider {
 
         return false;
     }
+
+    /**
+     * Verifies the signature once and extracts username and roles in the same pass.
+     *
+     * @return the verified principal, or null if the token is invalid or expired
+     */
+    public VerifiedPrincipal verify(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            List<GrantedAuthority> authorities = getRoles(claims).stream()
+                    .<GrantedAuthority>map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                    .toList();
+            long expiresAt = claims.getExpiration() != null
+                    ? claims.getExpiration().getTime()
+                    : System.currentTimeMillis() + jwtExpirationMs;
+            return new VerifiedPrincipal(claims.getId(), claims.getSubject(), authorities, expiresAt);
+        } catch (ExpiredJwtException e) {
+            log.error("JWT token is expired: {}", e.getMessage());
+        } catch (JwtException e) {
+            log.error("Invalid JWT token: {}", e.getMessage());
+        } catch (IllegalArgumentException e) {
+            log.error("JWT claims string is empty: {}", e.getMessage());
+        }
+
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> getRoles(Claims claims) {
+        List<String> roles = (List<String>) claims.get("roles");
+        return roles != null ? roles : Collections.emptyList();
+    }
 }
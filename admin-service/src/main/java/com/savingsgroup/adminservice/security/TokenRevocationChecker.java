@@ -0,0 +1,93 @@
+package com.savingsgroup.adminservice.security;
+
+import com.savingsgroup.adminservice.client.AuthServiceClient;
+import com.savingsgroup.adminservice.dto.RevocationFilterDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Checks token revocation against a copy of auth-service's Bloom filter, refreshed every
+ * {@code jwt.revocation.refresh-interval} starting at startup. Filter hits are confirmed
+ * with auth-service and the answer is remembered until the next refresh, so MongoDB is
+ * never consulted for the common not-revoked case. Until the first filter has loaded every
+ * token is confirmed with auth-service. A token that cannot be confirmed is treated as
+ * revoked.
+ */
+@Component
+@Slf4j
+public class TokenRevocationChecker {
+
+    private static final int MAX_CONFIRMED = 10_000;
+
+    private final AuthServiceClient authServiceClient;
+    private final Counter negatives;
+    private final Counter revoked;
+    private final Counter falsePositives;
+    private final Counter unconfirmed;
+
+    private final Set<String> confirmedValid = ConcurrentHashMap.newKeySet();
+    private final Set<String> confirmedRevoked = ConcurrentHashMap.newKeySet();
+
+    private volatile BloomFilter filter;
+
+    public TokenRevocationChecker(AuthServiceClient authServiceClient, MeterRegistry meterRegistry) {
+        this.authServiceClient = authServiceClient;
+        this.negatives = Counter.builder("admin.jwt.revocation.checks").tag("result", "negative")
+                .register(meterRegistry);
+        this.revoked = Counter.builder("admin.jwt.revocation.checks").tag("result", "revoked")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("admin.jwt.revocation.checks").tag("result", "false_positive")
+                .register(meterRegistry);
+        this.unconfirmed = Counter.builder("admin.jwt.revocation.checks").tag("result", "unconfirmed")
+                .register(meterRegistry);
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        BloomFilter current = filter;
+        if ((current != null && !current.mightContain(jti)) || confirmedValid.contains(jti)) {
+            negatives.increment();
+            return false;
+        }
+        if (confirmedRevoked.contains(jti)) {
+            revoked.increment();
+            return true;
+        }
+
+        boolean isRevoked;
+        try {
+            isRevoked = Boolean.TRUE.equals(authServiceClient.getRevocationStatus(jti).get("revoked"));
+        } catch (Exception e) {
+            log.warn("Could not confirm revocation status with auth-service, rejecting token: {}", e.getMessage());
+            unconfirmed.increment();
+            return true;
+        }
+
+        (isRevoked ? revoked : falsePositives).increment();
+        Set<String> confirmed = isRevoked ? confirmedRevoked : confirmedValid;
+        if (confirmed.size() < MAX_CONFIRMED) {
+            confirmed.add(jti);
+        }
+        return isRevoked;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.refresh-interval:30000}")
+    public void refresh() {
+        try {
+            RevocationFilterDTO snapshot = authServiceClient.getRevocationFilter();
+            filter = BloomFilter.fromBytes(snapshot.getBits(), snapshot.getNumHashes());
+            confirmedValid.clear();
+            confirmedRevoked.clear();
+        } catch (Exception e) {
+            log.warn("Could not refresh token revocation filter: {}", e.getMessage());
+        }
+    }
+}
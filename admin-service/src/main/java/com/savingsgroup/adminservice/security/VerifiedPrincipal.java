@@ -0,0 +1,24 @@
+package com.savingsgroup.adminservice.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+
+/**
+ * Username and authorities taken from a token whose signature has already been checked,
+ * valid until the token's own expiry.
+ */
+@Getter
+@AllArgsConstructor
+public final class VerifiedPrincipal {
+    private final String jti;
+    private final String username;
+    private final List<GrantedAuthority> authorities;
+    private final long expiresAtMillis;
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
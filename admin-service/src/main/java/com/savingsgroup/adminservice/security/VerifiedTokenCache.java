@@ -0,0 +1,92 @@
+package com.savingsgroup.adminservice.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of verified tokens keyed by the SHA-256 of the raw token, so a warm
+ * session pays for one signature check per token lifetime. Each entry expires with the
+ * token's exp. Lookups take no shared lock.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, VerifiedPrincipal> entries;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public VerifiedTokenCache(@Value("${jwt.cache.max-size:10000}") int maxSize, MeterRegistry meterRegistry) {
+        this.hits = Counter.builder("admin.jwt.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("admin.jwt.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("admin.jwt.cache.evictions").register(meterRegistry);
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry())
+                // Maintenance runs on the calling thread, so evictions are counted as they happen
+                .executor(Runnable::run)
+                .evictionListener((String key, VerifiedPrincipal principal, RemovalCause cause) -> {
+                    if (cause == RemovalCause.SIZE) {
+                        evictions.increment();
+                    }
+                })
+                .build();
+        meterRegistry.gauge("admin.jwt.cache.size", this, VerifiedTokenCache::size);
+    }
+
+    public VerifiedPrincipal get(String token) {
+        VerifiedPrincipal principal = entries.getIfPresent(hash(token));
+        (principal != null ? hits : misses).increment();
+        return principal;
+    }
+
+    public void put(String token, VerifiedPrincipal principal) {
+        entries.put(hash(token), principal);
+    }
+
+    public long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedPrincipal> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedPrincipal principal, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, principal.getExpiresAtMillis() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedPrincipal principal, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(key, principal, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedPrincipal principal, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
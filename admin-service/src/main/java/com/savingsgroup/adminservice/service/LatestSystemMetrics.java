@@ -0,0 +1,64 @@
+package com.savingsgroup.adminservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.savingsgroup.adminservice.dto.ApiResponse;
+import com.savingsgroup.adminservice.dto.SystemMetricsDTO;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The latest system metrics as the response body of {@code GET /api/admin/metrics}, serialized
+ * once when published rather than on every dashboard poll. A new snapshot replaces the old one
+ * atomically, so readers never see a partly built body.
+ */
+@Component
+public class LatestSystemMetrics {
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final ObjectMapper objectMapper;
+
+    public LatestSystemMetrics(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /** The current snapshot, or null if none has been published yet. */
+    public Snapshot get() {
+        return current.get();
+    }
+
+    public Snapshot publish(SystemMetricsDTO metrics) {
+        Snapshot snapshot = snapshot(metrics);
+        current.set(snapshot);
+        return snapshot;
+    }
+
+    /** Publishes {@code metrics} unless a snapshot was published meanwhile, and returns the current one. */
+    public Snapshot publishIfAbsent(SystemMetricsDTO metrics) {
+        Snapshot snapshot = snapshot(metrics);
+        return current.compareAndSet(null, snapshot) ? snapshot : current.get();
+    }
+
+    private Snapshot snapshot(SystemMetricsDTO metrics) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(ApiResponse.success("System metrics retrieved successfully", metrics));
+            Instant lastModified = metrics.getLastUpdated() != null
+                    ? metrics.getLastUpdated().atZone(ZoneId.systemDefault()).toInstant()
+                    : null;
+            return new Snapshot(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"", lastModified);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize system metrics", e);
+        }
+    }
+
+    /**
+     * A serialized response with its validators. {@code lastModified} is null before the first
+     * collection run.
+     */
+    public record Snapshot(byte[] body, String etag, Instant lastModified) {
+    }
+}
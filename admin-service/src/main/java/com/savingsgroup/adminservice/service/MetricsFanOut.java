@@ -0,0 +1,111 @@
+package com.savingsgroup.adminservice.service;
+
+import com.savingsgroup.adminservice.config.MetricsCollectionProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs the metrics sources concurrently, each on its own virtual thread, in the shape of
+ * {@code StructuredTaskScope} (still a preview API in Java 21): fork every source, then join
+ * each against its own deadline. A source that fails or misses its deadline joins as empty
+ * rather than failing the run, and one still running is cancelled. Every source's latency is
+ * recorded in {@code admin.metrics.source.duration}, tagged with its outcome.
+ */
+@Component
+@Slf4j
+public class MetricsFanOut {
+
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("metrics-source-", 0).factory());
+    private final MeterRegistry meterRegistry;
+    private final MetricsCollectionProperties properties;
+
+    public MetricsFanOut(MeterRegistry meterRegistry, MetricsCollectionProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+    }
+
+    public <T> Source<T> fork(String name, Callable<T> call) {
+        return new Source<>(name, properties.deadline(name), call);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public final class Source<T> {
+
+        private final String name;
+        private final Duration deadline;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private final Future<T> future;
+
+        private Source(String name, Duration deadline, Callable<T> call) {
+            this.name = name;
+            this.deadline = deadline;
+            this.future = executor.submit(() -> {
+                try {
+                    T result = call.call();
+                    record("success");
+                    return result;
+                } catch (Exception e) {
+                    record("failure");
+                    throw e;
+                }
+            });
+        }
+
+        public String name() {
+            return name;
+        }
+
+        /** Waits until this source's deadline, counted from when it was forked. */
+        public Optional<T> join() {
+            long remaining = startNanos + deadline.toNanos() - System.nanoTime();
+            try {
+                return Optional.ofNullable(future.get(Math.max(remaining, 0), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                // Recorded first, as cancelling interrupts the call, which would record a failure
+                record("timeout");
+                future.cancel(true);
+                log.atWarn().addKeyValue("source", name)
+                        .log("Metrics source {} missed its {} deadline", name, deadline);
+            } catch (ExecutionException e) {
+                log.atWarn().addKeyValue("source", name)
+                        .log("Metrics source {} failed: {}", name, e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+            }
+            return Optional.empty();
+        }
+
+        // Only the first outcome counts, so a call that returns after its deadline is not recorded twice
+        private void record(String outcome) {
+            if (finished.compareAndSet(false, true)) {
+                Timer.builder("admin.metrics.source.duration")
+                        .description("Latency of each remote source in a metrics collection run")
+                        .tag("source", name)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
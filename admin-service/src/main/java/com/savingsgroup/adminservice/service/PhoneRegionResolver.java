@@ -0,0 +1,123 @@
+package com.savingsgroup.adminservice.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Derives a region from a phone number: its international calling code, labelled like
+ * {@code +254}. Calling codes are one to three digits and no code is a prefix of another, so
+ * the code is the first prefix found in {@link #ASSIGNED_CODES}. Numbers in national format
+ * get {@code admin.metrics.default-calling-code}, if set; anything else is {@link #UNKNOWN}.
+ */
+@Component
+public class PhoneRegionResolver {
+
+    public static final String UNKNOWN = "UNKNOWN";
+
+    // ITU-T E.164 country and global service codes
+    private static final int[] ASSIGNED_CODES = {
+            1, 7,
+            20, 27, 30, 31, 32, 33, 34, 36, 39, 40, 41, 43, 44, 45, 46, 47, 48, 49, 51, 52, 53, 54, 55, 56, 57,
+            58, 60, 61, 62, 63, 64, 65, 66, 81, 82, 84, 86, 90, 91, 92, 93, 94, 95, 98,
+            211, 212, 213, 216, 218, 220, 221, 222, 223, 224, 225, 226, 227, 228, 229, 230, 231, 232, 233,
+            234, 235, 236, 237, 238, 239, 240, 241, 242, 243, 244, 245, 246, 247, 248, 249, 250, 251, 252,
+            253, 254, 255, 256, 257, 258, 260, 261, 262, 263, 264, 265, 266, 267, 268, 269, 290, 291, 297,
+            298, 299, 350, 351, 352, 353, 354, 355, 356, 357, 358, 359, 370, 371, 372, 373, 374, 375, 376,
+            377, 378, 379, 380, 381, 382, 383, 385, 386, 387, 389, 420, 421, 423, 500, 501, 502, 503, 504,
+            505, 506, 507, 508, 509, 590, 591, 592, 593, 594, 595, 596, 597, 598, 599, 670, 672, 673, 674,
+            675, 676, 677, 678, 679, 680, 681, 682, 683, 685, 686, 687, 688, 689, 690, 691, 692, 800, 808,
+            850, 852, 853, 855, 856, 870, 878, 880, 881, 882, 883, 886, 888, 960, 961, 962, 963, 964, 965,
+            966, 967, 968, 970, 971, 972, 973, 974, 975, 976, 977, 979, 992, 993, 994, 995, 996, 998
+    };
+    // Indexed by code; one-, two- and three-digit codes fall in disjoint ranges
+    private static final boolean[] ASSIGNED = new boolean[1000];
+    private static final String[] LABELS = new String[1000];
+
+    static {
+        for (int code : ASSIGNED_CODES) {
+            ASSIGNED[code] = true;
+            LABELS[code] = "+" + code;
+        }
+    }
+
+    private final int defaultCallingCode;
+
+    public PhoneRegionResolver(@Value("${admin.metrics.default-calling-code:0}") int defaultCallingCode) {
+        if (defaultCallingCode < 0 || defaultCallingCode > 999 || defaultCallingCode > 0 && !ASSIGNED[defaultCallingCode]) {
+            throw new IllegalArgumentException("Not a calling code: " + defaultCallingCode);
+        }
+        this.defaultCallingCode = defaultCallingCode;
+    }
+
+    /** The calling code of {@code phoneNumber}, or 0 if there is none. */
+    public int callingCode(String phoneNumber) {
+        if (phoneNumber == null) {
+            return 0;
+        }
+        int length = phoneNumber.length();
+        int i = 0;
+        while (i < length && phoneNumber.charAt(i) == ' ') {
+            i++;
+        }
+        if (i < length && phoneNumber.charAt(i) == '+') {
+            i++;
+        } else if (i + 1 < length && phoneNumber.charAt(i) == '0' && phoneNumber.charAt(i + 1) == '0') {
+            i += 2;
+        } else {
+            return i < length && isDigit(phoneNumber.charAt(i)) ? defaultCallingCode : 0;
+        }
+
+        int code = 0;
+        for (int digits = 0; digits < 3 && i < length; i++) {
+            char c = phoneNumber.charAt(i);
+            if (c == ' ' || c == '-' || c == '(' || c == ')') {
+                continue;
+            }
+            // No calling code starts with 0
+            if (!isDigit(c) || digits == 0 && c == '0') {
+                return 0;
+            }
+            code = code * 10 + (c - '0');
+            digits++;
+            if (ASSIGNED[code]) {
+                return code;
+            }
+        }
+        return 0;
+    }
+
+    public String region(String phoneNumber) {
+        return label(callingCode(phoneNumber));
+    }
+
+    public static String label(int callingCode) {
+        return callingCode > 0 ? LABELS[callingCode] : UNKNOWN;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /** Counts per calling code in a flat array, turned into a map keyed by label once counting is done. */
+    public static final class Counts {
+
+        private final int[] counts = new int[1000];
+
+        public void add(int callingCode) {
+            counts[callingCode]++;
+        }
+
+        public Map<String, Integer> toMap() {
+            Map<String, Integer> regions = new HashMap<>();
+            for (int code = 0; code < counts.length; code++) {
+                if (counts[code] > 0) {
+                    regions.put(label(code), counts[code]);
+                }
+            }
+            return regions;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.savingsgroup.adminservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.savingsgroup.adminservice.client.ApiResponseReader;
+import com.savingsgroup.adminservice.client.GroupServiceClient;
+import com.savingsgroup.adminservice.client.UserServiceClient;
+import com.savingsgroup.adminservice.dto.ApiResponse;
+import com.savingsgroup.adminservice.dto.EntityChangeDTO;
+import com.savingsgroup.adminservice.dto.GroupStatsDTO;
+import com.savingsgroup.adminservice.model.MetricsWatermark;
+import com.savingsgroup.adminservice.repository.MetricsWatermarkRepository;
+import feign.FeignException;
+import feign.Response;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Counts users and groups for {@link SystemMetricsService}. Asks each source for its totals
+ * first, which costs one small response. A source without those endpoints is read through its
+ * change feed instead: only records updated since the stored {@link MetricsWatermark} are
+ * fetched, streamed and applied to the stored totals in a single pass.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SystemMetricsCollector {
+
+    static final String USERS = "USERS";
+    static final String GROUPS = "GROUPS";
+    static final String UNKNOWN_STATUS = "UNKNOWN";
+
+    private final UserServiceClient userServiceClient;
+    private final GroupServiceClient groupServiceClient;
+    private final MetricsWatermarkRepository watermarkRepository;
+    private final ObjectMapper objectMapper;
+    private final PhoneRegionResolver phoneRegionResolver;
+
+    @FunctionalInterface
+    private interface ChangeApplier {
+        void apply(MetricsWatermark state, LocalDateTime since, EntityChangeDTO change);
+    }
+
+    public record GroupCounts(long total, Map<String, Long> byStatus) {
+
+        public long count(String status) {
+            return byStatus.getOrDefault(status, 0L);
+        }
+    }
+
+    public record RegionCounts(Map<String, Integer> usersByRegion, Map<String, Integer> groupsByRegion) {
+    }
+
+    public long countUsers() throws IOException {
+        try {
+            ApiResponse<Long> response = userServiceClient.countUsers();
+            if (response.isSuccess() && response.getData() != null) {
+                return response.getData();
+            }
+        } catch (FeignException.NotFound e) {
+            log.debug("user-service has no count endpoint, reading its change feed");
+        }
+        return applyChanges(USERS, userServiceClient::streamUserChanges,
+                SystemMetricsCollector::applyUserChange).getTotal();
+    }
+
+    public GroupCounts countGroups() throws IOException {
+        try {
+            ApiResponse<GroupStatsDTO> response = groupServiceClient.getGroupStats();
+            if (response.isSuccess() && response.getData() != null) {
+                GroupStatsDTO stats = response.getData();
+                return new GroupCounts(stats.getTotalGroups(),
+                        stats.getGroupsByStatus() != null ? stats.getGroupsByStatus() : Map.of());
+            }
+        } catch (FeignException.NotFound e) {
+            log.debug("group-service has no stats endpoint, reading its change feed");
+        }
+        MetricsWatermark state = applyChanges(GROUPS, groupServiceClient::streamGroupChanges,
+                (watermark, since, group) -> applyGroupChange(watermark, group));
+        Map<String, Long> byStatus = new HashMap<>();
+        state.getCountsByStatus().forEach((status, count) -> byStatus.put(status, count.longValue()));
+        return new GroupCounts(state.getTotal(), byStatus);
+    }
+
+    /**
+     * Counts live users by the region of their phone number, and groups by their organizer's,
+     * in one pass over each full listing. Deletions are not in a listing, so there is no
+     * incremental form; this runs far less often than {@link #countUsers()}.
+     */
+    public RegionCounts countRegions() throws IOException {
+        PhoneRegionResolver.Counts users = new PhoneRegionResolver.Counts();
+        readListing(USERS, userServiceClient.streamUserChanges(null),
+                user -> {
+                    if (!user.isDeleted()) {
+                        users.add(phoneRegionResolver.callingCode(user.getPhoneNumber()));
+                    }
+                });
+        PhoneRegionResolver.Counts groups = new PhoneRegionResolver.Counts();
+        readListing(GROUPS, groupServiceClient.streamGroupChanges(null),
+                group -> {
+                    if (!group.isDeleted()) {
+                        groups.add(phoneRegionResolver.callingCode(group.getPhoneNumber()));
+                    }
+                });
+        return new RegionCounts(users.toMap(), groups.toMap());
+    }
+
+    /**
+     * Applies one entry of the user change feed read after {@code since}, or of a full listing
+     * when {@code since} is null. A user created after {@code since} was not yet counted.
+     */
+    public static void applyUserChange(MetricsWatermark state, LocalDateTime since, EntityChangeDTO user) {
+        boolean counted = since != null && (user.getCreatedAt() == null || !user.getCreatedAt().isAfter(since));
+        if (user.isDeleted() && counted) {
+            state.setTotal(state.getTotal() - 1);
+        } else if (!user.isDeleted() && !counted) {
+            state.setTotal(state.getTotal() + 1);
+        }
+        advance(state, user.getUpdatedAt());
+    }
+
+    /**
+     * Applies one entry of the group change feed. Replaying an entry leaves the counts as they
+     * were, since each group's last seen status is kept.
+     */
+    public static void applyGroupChange(MetricsWatermark state, EntityChangeDTO group) {
+        String status = group.getStatus() != null ? group.getStatus() : UNKNOWN_STATUS;
+        String previous = group.isDeleted()
+                ? state.getStatusById().remove(group.getId())
+                : state.getStatusById().put(group.getId(), status);
+        if (previous != null) {
+            state.getCountsByStatus().merge(previous, -1, (a, b) -> a + b == 0 ? null : a + b);
+        }
+        if (!group.isDeleted()) {
+            state.getCountsByStatus().merge(status, 1, Integer::sum);
+        }
+        state.setTotal(state.getStatusById().size());
+        advance(state, group.getUpdatedAt());
+    }
+
+    private MetricsWatermark applyChanges(String source, Function<LocalDateTime, Response> changeFeed,
+                                          ChangeApplier applier) throws IOException {
+        // Without a watermark every record is re-read, so the old totals are discarded
+        MetricsWatermark state = watermarkRepository.findById(source)
+                .filter(stored -> stored.getWatermark() != null)
+                .orElseGet(() -> MetricsWatermark.builder().id(source).build());
+        LocalDateTime since = state.getWatermark();
+
+        long changes = readListing(source, changeFeed.apply(since), change -> applier.apply(state, since, change));
+        watermarkRepository.save(state);
+        log.info("Applied {} {} changes since {}", changes, source, since != null ? since : "the beginning");
+        return state;
+    }
+
+    private long readListing(String source, Response listing, Consumer<EntityChangeDTO> action) throws IOException {
+        try (Response response = listing) {
+            if (response.status() != 200 || response.body() == null) {
+                throw new IOException(source + " change feed returned HTTP " + response.status());
+            }
+            try (InputStream body = response.body().asInputStream()) {
+                return ApiResponseReader.forEachData(objectMapper, body, EntityChangeDTO.class, action);
+            }
+        }
+    }
+
+    private static void advance(MetricsWatermark state, LocalDateTime updatedAt) {
+        if (updatedAt != null && (state.getWatermark() == null || updatedAt.isAfter(state.getWatermark()))) {
+            state.setWatermark(updatedAt);
+        }
+    }
+}
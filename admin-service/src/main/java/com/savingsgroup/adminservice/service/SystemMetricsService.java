@@ -3,10 +3,17 @@ package com.savingsgroup.adminservice.service;
 
 import com.savingsgroup.adminservice.client.GamificationServiceClient;
 import com.savingsgroup.adminservice.client.TransactionServiceClient;
+import com.savingsgroup.adminservice.config.MetricsCollectionProperties;
+import com.savingsgroup.adminservice.config.MetricsRetentionProperties;
 import com.savingsgroup.adminservice.dto.ApiResponse;
+import com.savingsgroup.adminservice.dto.MetricsPointDTO;
+import com.savingsgroup.adminservice.dto.RegionMetricsDTO;
 import com.savingsgroup.adminservice.dto.SystemMetricsDTO;
+import com.savingsgroup.adminservice.model.MetricsStep;
 import com.savingsgroup.adminservice.model.SystemMetrics;
+import com.savingsgroup.adminservice.model.SystemMetricsRollup;
 import com.savingsgroup.adminservice.repository.SystemMetricsRepository;
+import com.savingsgroup.adminservice.repository.SystemMetricsRollupRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -14,19 +21,34 @@ import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SystemMetricsService {
 
+    static final String USERS = "users";
+    static final String GROUPS = "groups";
+    static final String TRANSACTION_VOLUME = "transaction-volume";
+    static final String VOLUME_BY_GROUP = "volume-by-group";
+    static final String TRANSACTION_COUNT = "transaction-count";
+    static final String GAMIFICATION = "gamification";
+    static final String REGIONS = "regions";
+
     private final SystemMetricsRepository systemMetricsRepository;
-    private final AdminUserService adminUserService;
-    private final AdminGroupService adminGroupService;
+    private final SystemMetricsRollupRepository systemMetricsRollupRepository;
+    private final SystemMetricsCollector systemMetricsCollector;
     private final TransactionServiceClient transactionServiceClient;
     private final GamificationServiceClient gamificationServiceClient;
+    private final MetricsFanOut metricsFanOut;
+    private final MetricsCollectionProperties metricsCollectionProperties;
+    private final MetricsRetentionProperties metricsRetentionProperties;
+    private final LatestSystemMetrics latestSystemMetrics;
 
     public SystemMetricsDTO getLatestSystemMetrics() {
         SystemMetrics metrics = systemMetricsRepository.findTopByOrderByLastUpdatedDesc();
@@ -38,62 +60,155 @@ public class SystemMetricsService {
         return mapToDTO(metrics);
     }
 
+    /**
+     * The latest metrics, serialized. Mongo is read only until the first snapshot is published;
+     * after that each collection run publishes the snapshot it saves.
+     */
+    public LatestSystemMetrics.Snapshot getLatestSnapshot() {
+        LatestSystemMetrics.Snapshot snapshot = latestSystemMetrics.get();
+        return snapshot != null ? snapshot : latestSystemMetrics.publishIfAbsent(getLatestSystemMetrics());
+    }
+
+    public List<RegionMetricsDTO> getRegionHistory(String region, LocalDateTime from, LocalDateTime to) {
+        return systemMetricsRepository.findRegionHistory(region, from, to);
+    }
+
+    public List<MetricsPointDTO> getMetricsHistory(LocalDateTime from, LocalDateTime to, MetricsStep step) {
+        if (step == MetricsStep.HOUR) {
+            return systemMetricsRepository.findHistory(from, to);
+        }
+        return systemMetricsRollupRepository
+                .findByStepAndStartGreaterThanEqualAndStartLessThanOrderByStartAsc(step, step.truncate(from), to)
+                .stream()
+                .map(this::mapToPoint)
+                .toList();
+    }
+
     @Scheduled(cron = "0 0 * * * *") // Run once per hour
     public void collectAndStoreSystemMetrics() {
         try {
             log.info("Starting system metrics collection");
-
-            int totalUsers = adminUserService.getAllUsers().size();
-            int totalGroups = adminGroupService.getAllGroups().size();
-
-            // Count active groups
-            int activeGroups = (int) adminGroupService.getAllGroups().stream()
-                    .filter(group -> "ACTIVE".equals(group.getStatus()))
-                    .count();
-
-            // Get transaction volume
-            BigDecimal totalTransactionVolume = BigDecimal.ZERO;
-            try {
-                ApiResponse<BigDecimal> volumeResponse = transactionServiceClient.getTotalTransactionVolume();
-                if (volumeResponse.isSuccess() && volumeResponse.getData() != null) {
-                    totalTransactionVolume = volumeResponse.getData();
-                }
-            } catch (Exception e) {
-                log.error("Error fetching transaction volume: {}", e.getMessage());
+            long start = System.nanoTime();
+
+            // All sources run at once, so the run takes as long as the slowest one or its deadline
+            var users = metricsFanOut.fork(USERS, systemMetricsCollector::countUsers);
+            var groups = metricsFanOut.fork(GROUPS, systemMetricsCollector::countGroups);
+            var volume = metricsFanOut.fork(TRANSACTION_VOLUME,
+                    () -> data(transactionServiceClient.getTotalTransactionVolume()));
+            var volumeByGroup = metricsFanOut.fork(VOLUME_BY_GROUP,
+                    () -> data(transactionServiceClient.getTransactionVolumeByGroup()));
+            var transactionCount = metricsFanOut.fork(TRANSACTION_COUNT,
+                    () -> data(transactionServiceClient.getTotalTransactionsCount()));
+            var gamification = metricsFanOut.fork(GAMIFICATION,
+                    () -> data(gamificationServiceClient.getGamificationAnalyticsSummary()));
+            List<MetricsFanOut.Source<?>> sources = new ArrayList<>(List.of(users, groups, volume, volumeByGroup,
+                    transactionCount, gamification));
+
+            // A source that fails keeps its value from the previous run and is listed as stale
+            SystemMetrics previous = systemMetricsRepository.findTopByOrderByLastUpdatedDesc();
+            LocalDateTime now = LocalDateTime.now();
+            MetricsFanOut.Source<SystemMetricsCollector.RegionCounts> regions = null;
+            if (previous == null || previous.getRegionsUpdated() == null || previous.getRegionsUpdated()
+                    .plus(metricsCollectionProperties.regionInterval()).isBefore(now)) {
+                regions = metricsFanOut.fork(REGIONS, systemMetricsCollector::countRegions);
+                sources.add(regions);
+            }
+            SystemMetrics.SystemMetricsBuilder metrics = previous != null
+                    ? previous.toBuilder().id(null)
+                    : SystemMetrics.builder()
+                            .totalTransactionVolume(BigDecimal.ZERO)
+                            .transactionVolumeByGroup(new HashMap<>())
+                            .gamificationSummary(new HashMap<>())
+                            .usersByRegion(new HashMap<>())
+                            .groupsByRegion(new HashMap<>());
+            List<String> stale = new ArrayList<>();
+
+            apply(users, stale, count -> metrics.totalUsers(Math.toIntExact(count)));
+            apply(groups, stale, counts -> metrics
+                    .totalGroups(Math.toIntExact(counts.total()))
+                    .activeGroups(Math.toIntExact(counts.count("ACTIVE"))));
+            apply(volume, stale, metrics::totalTransactionVolume);
+            apply(volumeByGroup, stale, metrics::transactionVolumeByGroup);
+            apply(transactionCount, stale, metrics::totalTransactions);
+            apply(gamification, stale, metrics::gamificationSummary);
+            if (regions != null) {
+                apply(regions, stale, counts -> metrics
+                        .usersByRegion(counts.usersByRegion())
+                        .groupsByRegion(counts.groupsByRegion())
+                        .regionsUpdated(now));
             }
 
-            // Get region data (simplified example)
-            Map<String, Integer> usersByRegion = new HashMap<>();
-            Map<String, Integer> groupsByRegion = new HashMap<>();
-
-            // Save the metrics
-            SystemMetrics metrics = SystemMetrics.builder()
-                    .totalUsers(totalUsers)
-                    .totalGroups(totalGroups)
-                    .activeGroups(activeGroups)
-                    .totalTransactionVolume(totalTransactionVolume)
-                    .usersByRegion(usersByRegion)
-                    .groupsByRegion(groupsByRegion)
-                    .lastUpdated(LocalDateTime.now())
+            if (stale.size() == sources.size()) {
+                log.error("System metrics collection failed: no source responded");
+                return;
+            }
+            SystemMetrics snapshot = metrics
+                    .lastUpdated(now)
+                    .staleSources(stale)
                     .build();
-
-            systemMetricsRepository.save(metrics);
-            log.info("System metrics collection completed");
+            systemMetricsRepository.save(snapshot);
+            latestSystemMetrics.publish(mapToDTO(snapshot));
+            rollUp(snapshot);
+            log.info("System metrics collection completed in {} ms{}", (System.nanoTime() - start) / 1_000_000,
+                    stale.isEmpty() ? "" : ", stale: " + stale);
 
         } catch (Exception e) {
             log.error("Error collecting system metrics: {}", e.getMessage());
         }
     }
 
+    // Daily rollups are kept for the daily retention, counted from the first snapshot in the day
+    private void rollUp(SystemMetrics snapshot) {
+        try {
+            systemMetricsRollupRepository.addSample(MetricsStep.DAY, snapshot,
+                    snapshot.getLastUpdated().plus(metricsRetentionProperties.daily()));
+            systemMetricsRollupRepository.addSample(MetricsStep.MONTH, snapshot, null);
+        } catch (Exception e) {
+            log.warn("Could not roll up system metrics: {}", e.getMessage());
+        }
+    }
+
+    private static <T> void apply(MetricsFanOut.Source<T> source, List<String> stale, Consumer<T> setter) {
+        Optional<T> value = source.join();
+        if (value.isPresent()) {
+            setter.accept(value.get());
+        } else {
+            stale.add(source.name());
+        }
+    }
+
+    private static <T> T data(ApiResponse<T> response) {
+        if (!response.isSuccess() || response.getData() == null) {
+            throw new IllegalStateException(response.getMessage());
+        }
+        return response.getData();
+    }
+
     private SystemMetricsDTO mapToDTO(SystemMetrics metrics) {
         return SystemMetricsDTO.builder()
                 .totalUsers(metrics.getTotalUsers())
                 .totalGroups(metrics.getTotalGroups())
                 .activeGroups(metrics.getActiveGroups())
                 .totalTransactionVolume(metrics.getTotalTransactionVolume())
+                .totalTransactions(metrics.getTotalTransactions())
+                .transactionVolumeByGroup(metrics.getTransactionVolumeByGroup())
+                .gamificationSummary(metrics.getGamificationSummary())
                 .usersByRegion(metrics.getUsersByRegion())
                 .groupsByRegion(metrics.getGroupsByRegion())
                 .lastUpdated(metrics.getLastUpdated())
+                .staleSources(metrics.getStaleSources())
+                .build();
+    }
+
+    private MetricsPointDTO mapToPoint(SystemMetricsRollup rollup) {
+        return MetricsPointDTO.builder()
+                .timestamp(rollup.getStart())
+                .samples(rollup.getSamples())
+                .totalUsers(rollup.getTotalUsers())
+                .totalGroups(rollup.getTotalGroups())
+                .activeGroups(rollup.getActiveGroups())
+                .totalTransactionVolume(rollup.getTotalTransactionVolume())
+                .totalTransactions(rollup.getTotalTransactions())
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,225 @@
+package com.savingsgroup.adminservice.benchmark;
+
+import com.savingsgroup.adminservice.dto.MetricsPointDTO;
+import com.savingsgroup.adminservice.model.MetricsStep;
+import com.savingsgroup.adminservice.model.SystemMetrics;
+import com.savingsgroup.adminservice.model.SystemMetricsRollup;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side cost of a year of metrics history, from the BSON a query returns to points: every
+ * full hourly snapshot, as reading {@code system_metrics} whole would return; the same
+ * snapshots with the projection of {@code findHistory}; and the daily and monthly rollups the
+ * history endpoint reads for a year. Run with {@code main}; the GC profiler reports allocation
+ * per query as {@code gc.alloc.rate.norm}. The server-side index scan is not included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class MetricsHistoryBenchmark {
+
+    private static final int HOURS = 365 * 24;
+    private static final int GROUPS = 2_000;
+    private static final String[] REGIONS = {"+254", "+255", "+256", "+250", "+234", "+91", "+1", "+44", "UNKNOWN"};
+
+    private final MappingMongoConverter converter = converter();
+    private final DocumentCodec codec = new DocumentCodec();
+
+    private List<byte[]> fullSnapshots;
+    private List<byte[]> projectedSnapshots;
+    private List<byte[]> dailyRollups;
+    private List<byte[]> monthlyRollups;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        Map<MetricsStep, Map<String, SystemMetricsRollup>> rollups = Map.of(
+                MetricsStep.DAY, new HashMap<>(), MetricsStep.MONTH, new HashMap<>());
+        fullSnapshots = new ArrayList<>(HOURS);
+        projectedSnapshots = new ArrayList<>(HOURS);
+        for (int hour = 0; hour < HOURS; hour++) {
+            SystemMetrics snapshot = snapshot(random, start.plusHours(hour), hour);
+            Document document = new Document();
+            converter.write(snapshot, document);
+            fullSnapshots.add(encode(document));
+            Document projected = new Document("_id", document.get("_id"));
+            for (String field : List.of("lastUpdated", "totalUsers", "totalGroups", "activeGroups",
+                    "totalTransactionVolume", "totalTransactions")) {
+                projected.put(field, document.get(field));
+            }
+            projectedSnapshots.add(encode(projected));
+            rollups.forEach((step, buckets) -> buckets.merge(
+                    SystemMetricsRollup.id(step, step.truncate(snapshot.getLastUpdated())),
+                    rollup(step, snapshot), (bucket, sample) -> {
+                        sample.setSamples(bucket.getSamples() + 1);
+                        return sample;
+                    }));
+        }
+        dailyRollups = encodeAll(rollups.get(MetricsStep.DAY).values());
+        monthlyRollups = encodeAll(rollups.get(MetricsStep.MONTH).values());
+        System.out.printf("%nBSON for a year: full %,d bytes, projected %,d, daily %,d, monthly %,d%n",
+                size(fullSnapshots), size(projectedSnapshots), size(dailyRollups), size(monthlyRollups));
+    }
+
+    @Benchmark
+    public List<MetricsPointDTO> fullHourlySnapshots() {
+        return readSnapshots(fullSnapshots);
+    }
+
+    @Benchmark
+    public List<MetricsPointDTO> projectedHourlySnapshots() {
+        return readSnapshots(projectedSnapshots);
+    }
+
+    @Benchmark
+    public List<MetricsPointDTO> dailyRollups() {
+        return readRollups(dailyRollups);
+    }
+
+    @Benchmark
+    public List<MetricsPointDTO> monthlyRollups() {
+        return readRollups(monthlyRollups);
+    }
+
+    private List<MetricsPointDTO> readSnapshots(List<byte[]> documents) {
+        List<MetricsPointDTO> points = new ArrayList<>(documents.size());
+        for (byte[] bson : documents) {
+            SystemMetrics metrics = converter.read(SystemMetrics.class, decode(bson));
+            points.add(new MetricsPointDTO(metrics.getLastUpdated(), 1, metrics.getTotalUsers(),
+                    metrics.getTotalGroups(), metrics.getActiveGroups(), metrics.getTotalTransactionVolume(),
+                    metrics.getTotalTransactions()));
+        }
+        return points;
+    }
+
+    private List<MetricsPointDTO> readRollups(List<byte[]> documents) {
+        List<MetricsPointDTO> points = new ArrayList<>(documents.size());
+        for (byte[] bson : documents) {
+            SystemMetricsRollup rollup = converter.read(SystemMetricsRollup.class, decode(bson));
+            points.add(new MetricsPointDTO(rollup.getStart(), rollup.getSamples(), rollup.getTotalUsers(),
+                    rollup.getTotalGroups(), rollup.getActiveGroups(), rollup.getTotalTransactionVolume(),
+                    rollup.getTotalTransactions()));
+        }
+        return points;
+    }
+
+    private static SystemMetrics snapshot(SplittableRandom random, LocalDateTime time, int hour) {
+        Map<String, BigDecimal> volumeByGroup = new HashMap<>();
+        for (int group = 0; group < GROUPS; group++) {
+            volumeByGroup.put(String.format("65f1c0a2e4b0a93d%08x", group),
+                    BigDecimal.valueOf(random.nextLong(10_000_000), 2));
+        }
+        Map<String, Integer> usersByRegion = new HashMap<>();
+        Map<String, Integer> groupsByRegion = new HashMap<>();
+        for (String region : REGIONS) {
+            usersByRegion.put(region, random.nextInt(100_000));
+            groupsByRegion.put(region, random.nextInt(5_000));
+        }
+        return SystemMetrics.builder()
+                .id(String.format("66a0%020x", hour))
+                .totalUsers(100_000 + hour)
+                .totalGroups(GROUPS)
+                .activeGroups(GROUPS - random.nextInt(100))
+                .totalTransactionVolume(BigDecimal.valueOf(1_000_000_000L + hour * 1_000L, 2))
+                .totalTransactions(500_000 + hour * 50)
+                .transactionVolumeByGroup(volumeByGroup)
+                .gamificationSummary(Map.of("badges", 1_200, "challenges", 45, "activeStreaks", 8_000))
+                .usersByRegion(usersByRegion)
+                .groupsByRegion(groupsByRegion)
+                .regionsUpdated(time.truncatedTo(ChronoUnit.DAYS))
+                .lastUpdated(time)
+                .staleSources(List.of())
+                .build();
+    }
+
+    private static SystemMetricsRollup rollup(MetricsStep step, SystemMetrics snapshot) {
+        LocalDateTime start = step.truncate(snapshot.getLastUpdated());
+        return SystemMetricsRollup.builder()
+                .id(SystemMetricsRollup.id(step, start))
+                .step(step)
+                .start(start)
+                .samples(1)
+                .totalUsers(snapshot.getTotalUsers())
+                .totalGroups(snapshot.getTotalGroups())
+                .activeGroups(snapshot.getActiveGroups())
+                .totalTransactionVolume(snapshot.getTotalTransactionVolume())
+                .totalTransactions(snapshot.getTotalTransactions())
+                .lastUpdated(snapshot.getLastUpdated())
+                .expireAt(step == MetricsStep.DAY ? start.plusDays(730) : null)
+                .build();
+    }
+
+    // Configured as Spring Boot's auto-configuration does
+    private static MappingMongoConverter converter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    private List<byte[]> encodeAll(Iterable<SystemMetricsRollup> rollups) {
+        List<byte[]> documents = new ArrayList<>();
+        for (SystemMetricsRollup rollup : rollups) {
+            Document document = new Document();
+            converter.write(rollup, document);
+            documents.add(encode(document));
+        }
+        return documents;
+    }
+
+    private byte[] encode(Document document) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        codec.encode(new BsonBinaryWriter(buffer), document, EncoderContext.builder().build());
+        return buffer.toByteArray();
+    }
+
+    // As the driver does for each document of a find
+    private Document decode(byte[] bson) {
+        return codec.decode(new BsonBinaryReader(ByteBuffer.wrap(bson)), DecoderContext.builder().build());
+    }
+
+    private static long size(List<byte[]> documents) {
+        return documents.stream().mapToLong(bson -> bson.length).sum();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MetricsHistoryBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,182 @@
+package com.savingsgroup.adminservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.savingsgroup.adminservice.controller.SystemMetricsController;
+import com.savingsgroup.adminservice.dto.ApiResponse;
+import com.savingsgroup.adminservice.dto.SystemMetricsDTO;
+import com.savingsgroup.adminservice.service.LatestSystemMetrics;
+import com.savingsgroup.adminservice.service.SystemMetricsService;
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.startup.Tomcat;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dashboard polls of {@code GET /api/admin/metrics} per second from 8 clients, over HTTP to an
+ * embedded Tomcat on loopback: serializing the metrics on every poll as the endpoint used to
+ * (without its Mongo query, so a lower bound on its cost); serving the published snapshot; and
+ * a poll whose {@code If-None-Match} matches, answered with a 304. Clients and server share
+ * the machine's cores. Run with {@code main}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class MetricsPollingBenchmark {
+
+    private static final int GROUPS = 2_000;
+
+    static {
+        System.setProperty("http.maxConnections", "8");
+    }
+
+    private Tomcat tomcat;
+    private URL perPoll;
+    private URL cached;
+    private String etag;
+
+    @Setup
+    public void setUp() throws IOException, LifecycleException {
+        SplittableRandom random = new SplittableRandom(42);
+        Map<String, BigDecimal> volumeByGroup = new HashMap<>();
+        for (int group = 0; group < GROUPS; group++) {
+            volumeByGroup.put(String.format("65f1c0a2e4b0a93d%08x", group), BigDecimal.valueOf(random.nextLong(10_000_000), 2));
+        }
+        SystemMetricsDTO metrics = SystemMetricsDTO.builder()
+                .totalUsers(100_000)
+                .totalGroups(GROUPS)
+                .activeGroups(1_950)
+                .totalTransactionVolume(new BigDecimal("10000000.00"))
+                .totalTransactions(500_000)
+                .transactionVolumeByGroup(volumeByGroup)
+                .gamificationSummary(Map.of("badges", 1_200, "challenges", 45, "activeStreaks", 8_000))
+                .usersByRegion(Map.of("+254", 80_000, "+255", 9_000, "+256", 8_000, "UNKNOWN", 3_000))
+                .groupsByRegion(Map.of("+254", 1_700, "+255", 150, "+256", 150))
+                .lastUpdated(LocalDateTime.of(2024, 3, 1, 10, 0))
+                .staleSources(List.of())
+                .build();
+
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        LatestSystemMetrics.Snapshot snapshot = new LatestSystemMetrics(objectMapper).publish(metrics);
+        SystemMetricsService service = Mockito.mock(SystemMetricsService.class);
+        Mockito.when(service.getLatestSnapshot()).thenReturn(snapshot);
+
+        tomcat = new Tomcat();
+        tomcat.setBaseDir(Files.createTempDirectory("metrics-polling").toString());
+        tomcat.setPort(0);
+        deploy("/per-poll", new PerPollController(metrics));
+        deploy("/cached", new SystemMetricsController(service));
+        tomcat.getConnector();
+        tomcat.start();
+
+        String base = "http://localhost:" + tomcat.getConnector().getLocalPort();
+        perPoll = URI.create(base + "/per-poll/api/admin/metrics").toURL();
+        cached = URI.create(base + "/cached/api/admin/metrics").toURL();
+        etag = snapshot.etag();
+    }
+
+    @TearDown
+    public void tearDown() throws LifecycleException {
+        tomcat.stop();
+        tomcat.destroy();
+    }
+
+    @Benchmark
+    public int serializedPerPoll() throws Exception {
+        return poll(perPoll, null, 200);
+    }
+
+    @Benchmark
+    public int publishedSnapshot() throws Exception {
+        return poll(cached, null, 200);
+    }
+
+    @Benchmark
+    public int notModified() throws Exception {
+        return poll(cached, etag, 304);
+    }
+
+    // Connections are kept alive and reused across polls, as a dashboard's would be
+    private static int poll(URL url, String ifNoneMatch, int expectedStatus) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        if (ifNoneMatch != null) {
+            connection.setRequestProperty("If-None-Match", ifNoneMatch);
+        }
+        int status = connection.getResponseCode();
+        if (status != expectedStatus) {
+            throw new IllegalStateException("Status " + status);
+        }
+        try (InputStream body = status == 200 ? connection.getInputStream() : InputStream.nullInputStream()) {
+            return body.readAllBytes().length;
+        }
+    }
+
+    private void deploy(String path, Object controller) {
+        AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext();
+        context.register(WebConfig.class);
+        context.addBeanFactoryPostProcessor(beanFactory -> beanFactory.registerSingleton("controller", controller));
+        Context servletContext = tomcat.addContext(path, null);
+        Tomcat.addServlet(servletContext, "dispatcher", new DispatcherServlet(context));
+        servletContext.addServletMappingDecoded("/", "dispatcher");
+    }
+
+    @EnableWebMvc
+    static class WebConfig {
+    }
+
+    // The endpoint as it was, minus findTopByOrderByLastUpdatedDesc. The profile keeps the
+    // application's component scan from picking it up; here it is registered directly
+    @RestController
+    @Profile("benchmark")
+    static class PerPollController {
+
+        private final SystemMetricsDTO metrics;
+
+        PerPollController(SystemMetricsDTO metrics) {
+            this.metrics = metrics;
+        }
+
+        @GetMapping("/api/admin/metrics")
+        public ResponseEntity<ApiResponse<SystemMetricsDTO>> getSystemMetrics() {
+            return ResponseEntity.ok(ApiResponse.success("System metrics retrieved successfully", metrics));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MetricsPollingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
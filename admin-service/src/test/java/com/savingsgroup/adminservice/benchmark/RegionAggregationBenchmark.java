@@ -0,0 +1,110 @@
+package com.savingsgroup.adminservice.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.savingsgroup.adminservice.client.ApiResponseReader;
+import com.savingsgroup.adminservice.dto.ApiResponse;
+import com.savingsgroup.adminservice.dto.EntityChangeDTO;
+import com.savingsgroup.adminservice.service.PhoneRegionResolver;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regional counts over 1M users: resolving each phone number to a region label and counting
+ * in a {@code HashMap<String, Integer>}, against counting calling codes in the flat array of
+ * {@link PhoneRegionResolver.Counts}; and the whole pass from a 1M-user listing to counts.
+ * Run with {@code main}; the GC profiler reports allocation per pass as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class RegionAggregationBenchmark {
+
+    private static final int USERS = 1_000_000;
+    // Mostly East African numbers in international format, some national-format and missing ones
+    private static final String[] PREFIXES = {
+            "+254 7", "+254 7", "+254 7", "+2547", "00254 7", "+256 7", "+255 7", "+250 7", "+234 80",
+            "+91 98", "+1 415", "+44 7", "07", "07"
+    };
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    private final PhoneRegionResolver resolver = new PhoneRegionResolver(254);
+
+    private String[] phoneNumbers;
+    private byte[] listing;
+
+    @Setup
+    public void setUp() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        phoneNumbers = new String[USERS];
+        List<EntityChangeDTO> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            int pick = random.nextInt(PREFIXES.length + 1);
+            String phone = pick == PREFIXES.length ? null
+                    : PREFIXES[pick] + String.format("%08d", random.nextInt(100_000_000));
+            phoneNumbers[i] = phone;
+            users.add(EntityChangeDTO.builder()
+                    .id(String.format("65f1c0a2e4b0a93d%08x", i))
+                    .status("ACTIVE")
+                    .phoneNumber(phone)
+                    .createdAt(start.plusSeconds(i))
+                    .updatedAt(start.plusSeconds(i))
+                    .build());
+        }
+        listing = objectMapper.writeValueAsBytes(ApiResponse.success("Listing", users));
+    }
+
+    @Benchmark
+    public Map<String, Integer> labelsIntoHashMap() {
+        Map<String, Integer> regions = new HashMap<>();
+        for (String phone : phoneNumbers) {
+            regions.merge(resolver.region(phone), 1, Integer::sum);
+        }
+        return regions;
+    }
+
+    @Benchmark
+    public Map<String, Integer> callingCodesIntoArray() {
+        PhoneRegionResolver.Counts counts = new PhoneRegionResolver.Counts();
+        for (String phone : phoneNumbers) {
+            counts.add(resolver.callingCode(phone));
+        }
+        return counts.toMap();
+    }
+
+    @Benchmark
+    public Map<String, Integer> streamListingIntoArray() throws IOException {
+        PhoneRegionResolver.Counts counts = new PhoneRegionResolver.Counts();
+        ApiResponseReader.forEachData(objectMapper, new ByteArrayInputStream(listing), EntityChangeDTO.class,
+                user -> counts.add(resolver.callingCode(user.getPhoneNumber())));
+        return counts.toMap();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RegionAggregationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
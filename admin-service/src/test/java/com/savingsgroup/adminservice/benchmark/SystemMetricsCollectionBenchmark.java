@@ -0,0 +1,206 @@
+package com.savingsgroup.adminservice.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.savingsgroup.adminservice.client.ApiResponseReader;
+import com.savingsgroup.adminservice.dto.ApiResponse;
+import com.savingsgroup.adminservice.dto.EntityChangeDTO;
+import com.savingsgroup.adminservice.dto.GroupDTO;
+import com.savingsgroup.adminservice.dto.GroupStatsDTO;
+import com.savingsgroup.adminservice.dto.UserDTO;
+import com.savingsgroup.adminservice.model.MetricsWatermark;
+import com.savingsgroup.adminservice.service.SystemMetricsCollector;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one metrics run at 100k users and 10k groups, from response bytes to totals, so
+ * network time is left out: decoding the full listings as the collector used to (groups
+ * twice), streaming the same listings in one pass that keeps only the fields it counts,
+ * applying a 1% change feed to stored totals, and reading the count endpoints. Run with
+ * {@code main}; the GC profiler reports allocation per run as {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class SystemMetricsCollectionBenchmark {
+
+    private static final int USERS = 100_000;
+    private static final int GROUPS = 10_000;
+    private static final double CHANGED = 0.01;
+    private static final String[] STATUSES = {"ACTIVE", "ACTIVE", "ACTIVE", "PENDING", "COMPLETED"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private byte[] allUsers;
+    private byte[] allGroups;
+    private byte[] changedUsers;
+    private byte[] changedGroups;
+    private byte[] userCount;
+    private byte[] groupStats;
+    private LocalDateTime watermark;
+    private MetricsWatermark userState;
+    private MetricsWatermark groupState;
+
+    @Setup
+    public void setUp() throws IOException {
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        watermark = start.plusMinutes(USERS);
+
+        List<Map<String, Object>> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(entry(user(i, start.plusMinutes(i)), start.plusMinutes(i), false));
+        }
+        List<Map<String, Object>> groups = new ArrayList<>(GROUPS);
+        for (int i = 0; i < GROUPS; i++) {
+            groups.add(entry(group(i, start.plusMinutes(i)), start.plusMinutes(i), false));
+        }
+        allUsers = listing(users);
+        allGroups = listing(groups);
+
+        // Recent changes: mostly updates, some sign-ups and deletions
+        List<Map<String, Object>> userChanges = new ArrayList<>();
+        for (int i = 0; i < USERS * CHANGED; i++) {
+            int id = i % 10 == 0 ? USERS + i : i * 97 % USERS;
+            UserDTO user = user(id, id < USERS ? start.plusMinutes(id) : watermark.plusMinutes(i));
+            userChanges.add(entry(user, watermark.plusMinutes(i), i % 25 == 1));
+        }
+        List<Map<String, Object>> groupChanges = new ArrayList<>();
+        for (int i = 0; i < GROUPS * CHANGED; i++) {
+            int id = i * 97 % GROUPS;
+            GroupDTO group = group(id, start.plusMinutes(id));
+            group.setStatus(STATUSES[(i + 3) % STATUSES.length]);
+            groupChanges.add(entry(group, watermark.plusMinutes(i), false));
+        }
+        changedUsers = listing(userChanges);
+        changedGroups = listing(groupChanges);
+
+        userCount = objectMapper.writeValueAsBytes(ApiResponse.success("User count", (long) USERS));
+        groupStats = objectMapper.writeValueAsBytes(ApiResponse.success("Group stats",
+                new GroupStatsDTO(GROUPS, Map.of("ACTIVE", 6_000L, "PENDING", 2_000L, "COMPLETED", 2_000L))));
+
+        userState = MetricsWatermark.builder().id("USERS").build();
+        groupState = MetricsWatermark.builder().id("GROUPS").build();
+        ApiResponseReader.forEachData(objectMapper, new ByteArrayInputStream(allUsers), EntityChangeDTO.class,
+                user -> SystemMetricsCollector.applyUserChange(userState, null, user));
+        ApiResponseReader.forEachData(objectMapper, new ByteArrayInputStream(allGroups), EntityChangeDTO.class,
+                group -> SystemMetricsCollector.applyGroupChange(groupState, group));
+    }
+
+    @Benchmark
+    public long decodeFullListings() throws IOException {
+        List<UserDTO> users = objectMapper.readValue(allUsers, new TypeReference<ApiResponse<List<UserDTO>>>() {})
+                .getData();
+        List<GroupDTO> groups = objectMapper.readValue(allGroups, new TypeReference<ApiResponse<List<GroupDTO>>>() {})
+                .getData();
+        long active = objectMapper.readValue(allGroups, new TypeReference<ApiResponse<List<GroupDTO>>>() {})
+                .getData().stream()
+                .filter(group -> "ACTIVE".equals(group.getStatus()))
+                .count();
+        return users.size() + groups.size() + active;
+    }
+
+    @Benchmark
+    public long streamFullListings() throws IOException {
+        MetricsWatermark users = MetricsWatermark.builder().id("USERS").build();
+        MetricsWatermark groups = MetricsWatermark.builder().id("GROUPS").build();
+        ApiResponseReader.forEachData(objectMapper, new ByteArrayInputStream(allUsers), EntityChangeDTO.class,
+                user -> SystemMetricsCollector.applyUserChange(users, null, user));
+        ApiResponseReader.forEachData(objectMapper, new ByteArrayInputStream(allGroups), EntityChangeDTO.class,
+                group -> SystemMetricsCollector.applyGroupChange(groups, group));
+        return users.getTotal() + groups.getTotal() + groups.getCountsByStatus().get("ACTIVE");
+    }
+
+    @Benchmark
+    public long applyChangesSinceWatermark() throws IOException {
+        // Replaying the same feed keeps the group counts stable; the user total drifts, which is harmless here
+        ApiResponseReader.forEachData(objectMapper, new ByteArrayInputStream(changedUsers), EntityChangeDTO.class,
+                user -> SystemMetricsCollector.applyUserChange(userState, watermark, user));
+        ApiResponseReader.forEachData(objectMapper, new ByteArrayInputStream(changedGroups), EntityChangeDTO.class,
+                group -> SystemMetricsCollector.applyGroupChange(groupState, group));
+        return userState.getTotal() + groupState.getTotal();
+    }
+
+    @Benchmark
+    public long readCountEndpoints() throws IOException {
+        long users = objectMapper.readValue(userCount, new TypeReference<ApiResponse<Long>>() {}).getData();
+        GroupStatsDTO stats = objectMapper.readValue(groupStats, new TypeReference<ApiResponse<GroupStatsDTO>>() {})
+                .getData();
+        return users + stats.getTotalGroups() + stats.getGroupsByStatus().get("ACTIVE");
+    }
+
+    private byte[] listing(List<?> items) throws IOException {
+        return objectMapper.writeValueAsBytes(ApiResponse.success("Listing", items));
+    }
+
+    // A listing or change-feed entry: the record plus its updatedAt and tombstone flag
+    private Map<String, Object> entry(Object record, LocalDateTime updatedAt, boolean deleted) {
+        Map<String, Object> entry = new LinkedHashMap<>(objectMapper.convertValue(record,
+                new TypeReference<Map<String, Object>>() {}));
+        entry.put("updatedAt", updatedAt.toString());
+        entry.put("deleted", deleted);
+        return entry;
+    }
+
+    private static UserDTO user(int i, LocalDateTime createdAt) {
+        return UserDTO.builder()
+                .id(String.format("65f1c0a2e4b0a93d%08x", i))
+                .username("member" + i)
+                .email("member" + i + "@example.com")
+                .fullName("Member Number " + i)
+                .phoneNumber("+2547" + String.format("%08d", i))
+                .isActive(true)
+                .groupIds(List.of(String.format("66a2d1b3f5c1b04e%08x", i % GROUPS)))
+                .createdAt(createdAt)
+                .build();
+    }
+
+    private static GroupDTO group(int i, LocalDateTime createdAt) {
+        List<String> members = new ArrayList<>(10);
+        for (int m = 0; m < 10; m++) {
+            members.add(String.format("65f1c0a2e4b0a93d%08x", (i * 10 + m) % USERS));
+        }
+        return GroupDTO.builder()
+                .id(String.format("66a2d1b3f5c1b04e%08x", i))
+                .name("Savings group " + i)
+                .description("Weekly contributions towards shared goals")
+                .organizerId(members.get(0))
+                .memberIds(members)
+                .totalMembers(members.size())
+                .contributionAmount(BigDecimal.valueOf(500))
+                .frequency("WEEKLY")
+                .status(STATUSES[i % STATUSES.length])
+                .startDate(createdAt)
+                .endDate(createdAt.plusYears(1))
+                .isPublic(true)
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SystemMetricsCollectionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
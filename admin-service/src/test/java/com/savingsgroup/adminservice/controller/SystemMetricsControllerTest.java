@@ -0,0 +1,62 @@
+package com.savingsgroup.adminservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.savingsgroup.adminservice.dto.SystemMetricsDTO;
+import com.savingsgroup.adminservice.service.LatestSystemMetrics;
+import com.savingsgroup.adminservice.service.SystemMetricsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.LocalDateTime;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class SystemMetricsControllerTest {
+
+    private final SystemMetricsService service = mock(SystemMetricsService.class);
+    private final LatestSystemMetrics latest = new LatestSystemMetrics(new ObjectMapper().findAndRegisterModules());
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new SystemMetricsController(service)).build();
+        when(service.getLatestSnapshot()).thenAnswer(invocation -> latest.get());
+        latest.publish(SystemMetricsDTO.builder().totalUsers(1_200)
+                .lastUpdated(LocalDateTime.of(2024, 3, 1, 10, 0)).build());
+    }
+
+    @Test
+    void servesPublishedSnapshotWithValidators() throws Exception {
+        mockMvc.perform(get("/api/admin/metrics"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, latest.get().etag()))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.data.totalUsers").value(1_200));
+    }
+
+    @Test
+    void answersNotModifiedUntilANewSnapshotIsPublished() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/admin/metrics")).andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        String lastModified = first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        mockMvc.perform(get("/api/admin/metrics").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+        mockMvc.perform(get("/api/admin/metrics").header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+                .andExpect(status().isNotModified());
+
+        latest.publish(SystemMetricsDTO.builder().totalUsers(1_250)
+                .lastUpdated(LocalDateTime.of(2024, 3, 1, 11, 0)).build());
+        mockMvc.perform(get("/api/admin/metrics").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.totalUsers").value(1_250));
+    }
+}
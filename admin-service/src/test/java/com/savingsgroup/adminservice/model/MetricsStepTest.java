@@ -0,0 +1,34 @@
+package com.savingsgroup.adminservice.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsStepTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 3, 15, 10, 30);
+
+    @Test
+    void truncatesToBucketStart() {
+        assertEquals(LocalDateTime.of(2024, 3, 15, 10, 0), MetricsStep.HOUR.truncate(FROM));
+        assertEquals(LocalDateTime.of(2024, 3, 15, 0, 0), MetricsStep.DAY.truncate(FROM));
+        assertEquals(LocalDateTime.of(2024, 3, 1, 0, 0), MetricsStep.MONTH.truncate(FROM));
+    }
+
+    @Test
+    void countsBucketsStartingInRange() {
+        // The bucket FROM falls in counts, as does a partial one at the end
+        assertEquals(24, MetricsStep.HOUR.points(FROM, FROM.plusHours(23)));
+        assertEquals(12, MetricsStep.MONTH.points(FROM, FROM.plusMonths(11)));
+        assertEquals(1, MetricsStep.DAY.points(FROM, FROM.plusMinutes(1)));
+    }
+
+    @Test
+    void picksFinestStepWithinDefaultPoints() {
+        assertEquals(MetricsStep.HOUR, MetricsStep.forRange(FROM, FROM.plusDays(7)));
+        assertEquals(MetricsStep.DAY, MetricsStep.forRange(FROM, FROM.plusYears(1)));
+        assertEquals(MetricsStep.MONTH, MetricsStep.forRange(FROM, FROM.plusYears(5)));
+    }
+}
@@ -0,0 +1,116 @@
+package com.savingsgroup.adminservice.security;
+
+import com.savingsgroup.adminservice.client.AuthServiceClient;
+import com.savingsgroup.adminservice.dto.JwksDTO;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.interfaces.ECPublicKey;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class JwksKeyResolverTest {
+
+    private final KeyPair current = Keys.keyPairFor(SignatureAlgorithm.ES256);
+    private final KeyPair next = Keys.keyPairFor(SignatureAlgorithm.ES256);
+    private final AuthServiceClient authServiceClient = mock(AuthServiceClient.class);
+
+    @Test
+    void verifiesTokensWithPublishedKeys() {
+        when(authServiceClient.getJwks()).thenReturn(jwks(jwk("k1", current)));
+        JwksKeyResolver resolver = resolver(Duration.ofSeconds(30));
+        resolver.refresh();
+
+        JwtParser parser = Jwts.parserBuilder().setSigningKeyResolver(resolver).build();
+
+        assertEquals("alice", parser.parseClaimsJws(token("k1", current)).getBody().getSubject());
+        verify(authServiceClient, times(1)).getJwks();
+    }
+
+    @Test
+    void concurrentUnknownKidsShareOneFetch() throws Exception {
+        when(authServiceClient.getJwks())
+                .thenReturn(jwks(jwk("k1", current)))
+                .thenReturn(jwks(jwk("k1", current), jwk("k2", next)));
+        JwksKeyResolver resolver = resolver(Duration.ZERO);
+        resolver.refresh();
+        JwtParser parser = Jwts.parserBuilder().setSigningKeyResolver(resolver).build();
+        String token = token("k2", next);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<String>> requests = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                requests.add(() -> parser.parseClaimsJws(token).getBody().getSubject());
+            }
+            for (Future<String> result : executor.invokeAll(requests)) {
+                assertEquals("alice", result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // Initial load plus a single fetch for the new kid
+        verify(authServiceClient, times(2)).getJwks();
+    }
+
+    @Test
+    void unknownKidFetchesAreRateLimited() {
+        when(authServiceClient.getJwks()).thenReturn(jwks(jwk("k1", current)));
+        JwksKeyResolver resolver = resolver(Duration.ofMinutes(1));
+        JwtParser parser = Jwts.parserBuilder().setSigningKeyResolver(resolver).build();
+        String forged = token("forged", next);
+
+        for (int i = 0; i < 100; i++) {
+            assertThrows(UnsupportedJwtException.class, () -> parser.parseClaimsJws(forged));
+        }
+        verify(authServiceClient, times(1)).getJwks();
+    }
+
+    private JwksKeyResolver resolver(Duration minRefreshInterval) {
+        return new JwksKeyResolver(authServiceClient, new SimpleMeterRegistry(), minRefreshInterval);
+    }
+
+    private static String token(String kid, KeyPair keyPair) {
+        return Jwts.builder()
+                .setSubject("alice")
+                .setHeaderParam("kid", kid)
+                .signWith(keyPair.getPrivate(), SignatureAlgorithm.ES256)
+                .compact();
+    }
+
+    private static JwksDTO jwks(JwksDTO.Jwk... keys) {
+        return JwksDTO.builder().keys(List.of(keys)).build();
+    }
+
+    private static JwksDTO.Jwk jwk(String kid, KeyPair keyPair) {
+        ECPublicKey publicKey = (ECPublicKey) keyPair.getPublic();
+        return JwksDTO.Jwk.builder()
+                .kty("EC")
+                .crv("P-256")
+                .kid(kid)
+                .alg("ES256")
+                .x(base64Url(publicKey.getW().getAffineX()))
+                .y(base64Url(publicKey.getW().getAffineY()))
+                .build();
+    }
+
+    private static String base64Url(BigInteger coordinate) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(coordinate.toByteArray());
+    }
+}
@@ -0,0 +1,63 @@
+package com.savingsgroup.adminservice.security;
+
+import com.savingsgroup.adminservice.client.AuthServiceClient;
+import com.savingsgroup.adminservice.dto.RevocationFilterDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationCheckerTest {
+
+    private final AuthServiceClient authServiceClient = mock(AuthServiceClient.class);
+    private final TokenRevocationChecker checker = new TokenRevocationChecker(authServiceClient, new SimpleMeterRegistry());
+
+    @Test
+    void confirmsEveryTokenBeforeTheFirstFilterLoads() {
+        when(authServiceClient.getRevocationStatus("jti-1")).thenReturn(Map.of("revoked", true));
+        when(authServiceClient.getRevocationStatus("jti-2")).thenThrow(new IllegalStateException("down"));
+
+        assertTrue(checker.isRevoked("jti-1"));
+        assertTrue(checker.isRevoked("jti-2"));
+        verify(authServiceClient).getRevocationStatus("jti-1");
+    }
+
+    @Test
+    void filterHitThatCannotBeConfirmedIsRevoked() {
+        loadFilter((byte) 0xFF);
+        when(authServiceClient.getRevocationStatus(anyString())).thenThrow(new IllegalStateException("down"));
+
+        assertTrue(checker.isRevoked("jti-1"));
+        assertTrue(checker.isRevoked("jti-1"));
+        // Failures are not remembered, so the token passes once auth-service answers again
+        reset(authServiceClient);
+        when(authServiceClient.getRevocationStatus("jti-1")).thenReturn(Map.of("revoked", false));
+        assertFalse(checker.isRevoked("jti-1"));
+        assertFalse(checker.isRevoked("jti-1"));
+        verify(authServiceClient, times(1)).getRevocationStatus("jti-1");
+    }
+
+    @Test
+    void filterMissNeedsNoConfirmation() {
+        loadFilter((byte) 0);
+
+        assertFalse(checker.isRevoked("jti-1"));
+        verify(authServiceClient, never()).getRevocationStatus(anyString());
+    }
+
+    private void loadFilter(byte fill) {
+        byte[] bits = new byte[64];
+        Arrays.fill(bits, fill);
+        when(authServiceClient.getRevocationFilter()).thenReturn(RevocationFilterDTO.builder()
+                .bits(bits)
+                .numHashes(3)
+                .build());
+        checker.refresh();
+    }
+}
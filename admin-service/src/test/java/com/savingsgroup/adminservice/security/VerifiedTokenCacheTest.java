@@ -0,0 +1,51 @@
+package com.savingsgroup.adminservice.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void returnsCachedPrincipalAndCountsHitsAndMisses() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, meterRegistry);
+        VerifiedPrincipal principal = principal("alice", System.currentTimeMillis() + 60_000);
+
+        assertNull(cache.get("token-a"));
+        cache.put("token-a", principal);
+
+        assertSame(principal, cache.get("token-a"));
+        assertEquals(1.0, meterRegistry.get("admin.jwt.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("admin.jwt.cache.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void dropsEntriesPastTokenExpiry() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, meterRegistry);
+        cache.put("token-a", principal("alice", System.currentTimeMillis() - 1));
+
+        assertNull(cache.get("token-a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void staysWithinMaximumSize() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2, meterRegistry);
+        long exp = System.currentTimeMillis() + 60_000;
+        cache.put("token-a", principal("alice", exp));
+        cache.put("token-b", principal("bob", exp));
+        cache.put("token-c", principal("carol", exp));
+
+        assertEquals(2, cache.size());
+        assertEquals(1.0, meterRegistry.get("admin.jwt.cache.evictions").counter().count());
+    }
+
+    private static VerifiedPrincipal principal(String username, long expiresAt) {
+        return new VerifiedPrincipal(null, username, List.of(), expiresAt);
+    }
+}
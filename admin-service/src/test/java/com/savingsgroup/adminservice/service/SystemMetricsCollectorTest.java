@@ -0,0 +1,147 @@
+package com.savingsgroup.adminservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.savingsgroup.adminservice.client.GroupServiceClient;
+import com.savingsgroup.adminservice.client.UserServiceClient;
+import com.savingsgroup.adminservice.dto.ApiResponse;
+import com.savingsgroup.adminservice.dto.EntityChangeDTO;
+import com.savingsgroup.adminservice.dto.GroupStatsDTO;
+import com.savingsgroup.adminservice.model.MetricsWatermark;
+import com.savingsgroup.adminservice.repository.MetricsWatermarkRepository;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class SystemMetricsCollectorTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 3, 1, 9, 0);
+    private static final Request REQUEST = Request.create(Request.HttpMethod.GET, "http://metrics-source/api",
+            Map.of(), null, StandardCharsets.UTF_8, null);
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final UserServiceClient userServiceClient = mock(UserServiceClient.class);
+    private final GroupServiceClient groupServiceClient = mock(GroupServiceClient.class);
+    private final Map<String, MetricsWatermark> stored = new ConcurrentHashMap<>();
+    private SystemMetricsCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        MetricsWatermarkRepository repository = mock(MetricsWatermarkRepository.class);
+        when(repository.findById(any())).thenAnswer(invocation -> Optional.ofNullable(stored.get(invocation.<String>getArgument(0))));
+        when(repository.save(any())).thenAnswer(invocation -> {
+            MetricsWatermark state = invocation.getArgument(0);
+            stored.put(state.getId(), state);
+            return state;
+        });
+        collector = new SystemMetricsCollector(userServiceClient, groupServiceClient, repository, objectMapper,
+                new PhoneRegionResolver(254));
+    }
+
+    @Test
+    void readsCountEndpointsWithoutListingRecords() throws Exception {
+        when(userServiceClient.countUsers()).thenReturn(ApiResponse.success("Count", 120_000L));
+        when(groupServiceClient.getGroupStats()).thenReturn(ApiResponse.success("Stats",
+                new GroupStatsDTO(9_000, Map.of("ACTIVE", 7_500L, "COMPLETED", 1_500L))));
+
+        assertEquals(120_000, collector.countUsers());
+        SystemMetricsCollector.GroupCounts groups = collector.countGroups();
+        assertEquals(9_000, groups.total());
+        assertEquals(7_500, groups.count("ACTIVE"));
+        verify(userServiceClient, never()).streamUserChanges(any());
+        verify(groupServiceClient, never()).streamGroupChanges(any());
+    }
+
+    @Test
+    void appliesOnlyChangesSinceTheStoredWatermark() throws Exception {
+        when(userServiceClient.countUsers()).thenThrow(notFound());
+        when(groupServiceClient.getGroupStats()).thenThrow(notFound());
+        when(userServiceClient.streamUserChanges(isNull())).thenReturn(body(List.of(
+                user("u1", T0, false), user("u2", T0.plusMinutes(1), false), user("u3", T0.plusMinutes(2), false))));
+        when(groupServiceClient.streamGroupChanges(isNull())).thenReturn(body(List.of(
+                group("g1", "ACTIVE", T0, false), group("g2", "ACTIVE", T0.plusMinutes(1), false))));
+
+        assertEquals(3, collector.countUsers());
+        assertEquals(2, collector.countGroups().count("ACTIVE"));
+
+        // u1 deleted, u2 updated, u4 signed up; g1 completed, g2 re-sent unchanged, g3 created
+        LocalDateTime since = T0.plusMinutes(2);
+        EntityChangeDTO deleted = user("u1", T0.plusHours(1), true);
+        deleted.setCreatedAt(T0);
+        EntityChangeDTO updated = user("u2", T0.plusHours(1), false);
+        updated.setCreatedAt(T0.plusMinutes(1));
+        when(userServiceClient.streamUserChanges(since)).thenReturn(body(List.of(
+                deleted, updated, user("u4", T0.plusHours(1), false))));
+        when(groupServiceClient.streamGroupChanges(T0.plusMinutes(1))).thenReturn(body(List.of(
+                group("g1", "COMPLETED", T0.plusHours(1), false),
+                group("g2", "ACTIVE", T0.plusHours(1), false),
+                group("g3", "PENDING", T0.plusHours(1), false))));
+
+        assertEquals(3, collector.countUsers());
+        SystemMetricsCollector.GroupCounts groups = collector.countGroups();
+        assertEquals(3, groups.total());
+        assertEquals(1, groups.count("ACTIVE"));
+        assertEquals(1, groups.count("COMPLETED"));
+        assertEquals(T0.plusHours(1), stored.get(SystemMetricsCollector.USERS).getWatermark());
+        verify(userServiceClient, times(2)).streamUserChanges(any());
+    }
+
+    @Test
+    void countsUsersAndGroupsByCallingCode() throws Exception {
+        EntityChangeDTO kenyan = user("u1", T0, false);
+        kenyan.setPhoneNumber("+254 712 345678");
+        EntityChangeDTO national = user("u2", T0, false);
+        national.setPhoneNumber("0712345678");
+        EntityChangeDTO ugandan = user("u3", T0, false);
+        ugandan.setPhoneNumber("00256 772 123456");
+        EntityChangeDTO american = user("u4", T0, false);
+        american.setPhoneNumber("+1 (415) 555-0100");
+        EntityChangeDTO missing = user("u5", T0, false);
+        EntityChangeDTO group = group("g1", "ACTIVE", T0, false);
+        group.setPhoneNumber("+256772123456");
+        when(userServiceClient.streamUserChanges(isNull())).thenReturn(body(List.of(kenyan, national, ugandan, american, missing)));
+        when(groupServiceClient.streamGroupChanges(isNull())).thenReturn(body(List.of(group)));
+
+        SystemMetricsCollector.RegionCounts regions = collector.countRegions();
+
+        assertEquals(Map.of("+254", 2, "+256", 1, "+1", 1, PhoneRegionResolver.UNKNOWN, 1), regions.usersByRegion());
+        assertEquals(Map.of("+256", 1), regions.groupsByRegion());
+    }
+
+    private Response body(List<?> items) throws Exception {
+        return Response.builder()
+                .status(200)
+                .request(REQUEST)
+                .headers(Map.of())
+                .body(objectMapper.writeValueAsBytes(ApiResponse.success("Changes", items)))
+                .build();
+    }
+
+    private static FeignException notFound() {
+        return new FeignException.NotFound("Not Found", REQUEST, null, Map.of());
+    }
+
+    private static EntityChangeDTO user(String id, LocalDateTime at, boolean deleted) {
+        return EntityChangeDTO.builder().id(id).createdAt(at).updatedAt(at).deleted(deleted).build();
+    }
+
+    private static EntityChangeDTO group(String id, String status, LocalDateTime at, boolean deleted) {
+        return EntityChangeDTO.builder().id(id).status(status).createdAt(at).updatedAt(at).deleted(deleted).build();
+    }
+}
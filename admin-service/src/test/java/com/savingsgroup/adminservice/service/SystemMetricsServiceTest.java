@@ -0,0 +1,145 @@
+package com.savingsgroup.adminservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.savingsgroup.adminservice.client.GamificationServiceClient;
+import com.savingsgroup.adminservice.client.TransactionServiceClient;
+import com.savingsgroup.adminservice.config.MetricsCollectionProperties;
+import com.savingsgroup.adminservice.config.MetricsRetentionProperties;
+import com.savingsgroup.adminservice.dto.ApiResponse;
+import com.savingsgroup.adminservice.dto.SystemMetricsDTO;
+import com.savingsgroup.adminservice.model.MetricsStep;
+import com.savingsgroup.adminservice.model.SystemMetrics;
+import com.savingsgroup.adminservice.repository.SystemMetricsRepository;
+import com.savingsgroup.adminservice.repository.SystemMetricsRollupRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.stubbing.Answer;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SystemMetricsServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SystemMetricsRepository repository = mock(SystemMetricsRepository.class);
+    private final SystemMetricsRollupRepository rollupRepository = mock(SystemMetricsRollupRepository.class);
+    private final SystemMetricsCollector collector = mock(SystemMetricsCollector.class);
+    private final TransactionServiceClient transactionServiceClient = mock(TransactionServiceClient.class);
+    private final GamificationServiceClient gamificationServiceClient = mock(GamificationServiceClient.class);
+    private final MetricsCollectionProperties properties = new MetricsCollectionProperties(Duration.ofSeconds(2),
+            Map.of(SystemMetricsService.GAMIFICATION, Duration.ofMillis(300)), Duration.ofHours(24));
+    private final MetricsFanOut fanOut = new MetricsFanOut(meterRegistry, properties);
+    private final LatestSystemMetrics latestSystemMetrics = new LatestSystemMetrics(new ObjectMapper().findAndRegisterModules());
+    private final SystemMetricsService service = new SystemMetricsService(repository, rollupRepository, collector,
+            transactionServiceClient, gamificationServiceClient, fanOut, properties,
+            new MetricsRetentionProperties(Duration.ofDays(90), Duration.ofDays(730)), latestSystemMetrics);
+
+    @AfterEach
+    void tearDown() {
+        fanOut.shutdown();
+    }
+
+    @Test
+    void takesAsLongAsTheSlowestSource() throws Exception {
+        when(collector.countUsers()).thenAnswer(after(400, 1_200L));
+        when(collector.countGroups()).thenAnswer(after(500,
+                new SystemMetricsCollector.GroupCounts(40, Map.of("ACTIVE", 30L))));
+        when(transactionServiceClient.getTotalTransactionVolume()).thenAnswer(after(300, ok(new BigDecimal("950000.00"))));
+        when(transactionServiceClient.getTransactionVolumeByGroup()).thenAnswer(after(600, ok(Map.of("g1", BigDecimal.TEN))));
+        when(transactionServiceClient.getTotalTransactionsCount()).thenAnswer(after(200, ok(8_000)));
+        when(gamificationServiceClient.getGamificationAnalyticsSummary()).thenAnswer(after(100, ok(Map.<String, Object>of("badges", 12))));
+        when(collector.countRegions()).thenAnswer(after(550,
+                new SystemMetricsCollector.RegionCounts(Map.of("+254", 1_150, "+256", 50), Map.of("+254", 40))));
+
+        long start = System.nanoTime();
+        service.collectAndStoreSystemMetrics();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // 2.1 s if called one after another
+        assertTrue(elapsedMs >= 600 && elapsedMs < 1_000, "took " + elapsedMs + " ms");
+        SystemMetrics saved = saved();
+        assertEquals(1_200, saved.getTotalUsers());
+        assertEquals(30, saved.getActiveGroups());
+        assertEquals(8_000, saved.getTotalTransactions());
+        assertEquals(1_150, saved.getUsersByRegion().get("+254"));
+        assertNotNull(saved.getRegionsUpdated());
+        assertEquals(List.of(), saved.getStaleSources());
+        assertEquals(7, meterRegistry.find("admin.metrics.source.duration").tag("outcome", "success").timers().size());
+        verify(rollupRepository).addSample(MetricsStep.DAY, saved, saved.getLastUpdated().plusDays(730));
+        verify(rollupRepository).addSample(MetricsStep.MONTH, saved, null);
+        assertSame(latestSystemMetrics.get(), service.getLatestSnapshot());
+        verify(repository, times(1)).findTopByOrderByLastUpdatedDesc(); // only for the carried-over values
+    }
+
+    @Test
+    void keepsPreviousValuesForSourcesThatFailOrMissTheirDeadline() throws Exception {
+        when(repository.findTopByOrderByLastUpdatedDesc()).thenReturn(SystemMetrics.builder()
+                .id("previous").totalUsers(1_100).gamificationSummary(Map.of("badges", 10))
+                .regionsUpdated(LocalDateTime.now().minusHours(1)).build());
+        when(collector.countUsers()).thenThrow(new IllegalStateException("user-service unavailable"));
+        when(collector.countGroups()).thenReturn(new SystemMetricsCollector.GroupCounts(40, Map.of("ACTIVE", 30L)));
+        when(transactionServiceClient.getTotalTransactionVolume()).thenReturn(ok(new BigDecimal("950000.00")));
+        when(transactionServiceClient.getTransactionVolumeByGroup()).thenReturn(ok(Map.of()));
+        when(transactionServiceClient.getTotalTransactionsCount()).thenReturn(ok(8_000));
+        when(gamificationServiceClient.getGamificationAnalyticsSummary()).thenAnswer(after(5_000, ok(Map.<String, Object>of())));
+
+        long start = System.nanoTime();
+        service.collectAndStoreSystemMetrics();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMs < 1_000, "took " + elapsedMs + " ms");
+        SystemMetrics saved = saved();
+        assertNull(saved.getId());
+        assertEquals(1_100, saved.getTotalUsers());
+        assertEquals(Map.of("badges", 10), saved.getGamificationSummary());
+        assertEquals(40, saved.getTotalGroups());
+        assertEquals(List.of(SystemMetricsService.USERS, SystemMetricsService.GAMIFICATION), saved.getStaleSources());
+        verify(collector, never()).countRegions(); // refreshed an hour ago
+        assertEquals(1, meterRegistry.get("admin.metrics.source.duration")
+                .tag("source", SystemMetricsService.GAMIFICATION).tag("outcome", "timeout").timer().count());
+    }
+
+    @Test
+    void readsLatestFromMongoOnlyUntilASnapshotIsPublished() {
+        when(repository.findTopByOrderByLastUpdatedDesc()).thenReturn(SystemMetrics.builder()
+                .totalUsers(1_100).lastUpdated(LocalDateTime.of(2024, 3, 1, 9, 0)).build());
+
+        LatestSystemMetrics.Snapshot first = service.getLatestSnapshot();
+        for (int poll = 0; poll < 100; poll++) {
+            assertSame(first, service.getLatestSnapshot());
+        }
+        verify(repository, times(1)).findTopByOrderByLastUpdatedDesc();
+        assertTrue(new String(first.body()).contains("\"totalUsers\":1100"));
+
+        LatestSystemMetrics.Snapshot next = latestSystemMetrics.publish(SystemMetricsDTO.builder()
+                .totalUsers(1_200).lastUpdated(LocalDateTime.of(2024, 3, 1, 10, 0)).build());
+        assertSame(next, service.getLatestSnapshot());
+        assertNotEquals(first.etag(), next.etag());
+    }
+
+    private SystemMetrics saved() {
+        ArgumentCaptor<SystemMetrics> captor = ArgumentCaptor.forClass(SystemMetrics.class);
+        verify(repository).save(captor.capture());
+        return captor.getValue();
+    }
+
+    private static <T> ApiResponse<T> ok(T data) {
+        return ApiResponse.success("OK", data);
+    }
+
+    // A remote call that takes latencyMs to answer
+    private static <T> Answer<T> after(long latencyMs, T result) {
+        return invocation -> {
+            Thread.sleep(latencyMs);
+            return result;
+        };
+    }
+}
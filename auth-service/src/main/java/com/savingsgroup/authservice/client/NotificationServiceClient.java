@@ -7,5 +7,6 @@ import org.springframework.web.bind.annotation.*;
 public interface NotificationServiceClient {
 
     @PostMapping("/api/notifications/send")
-    void sendNotification(@RequestBody NotificationRequest request, @RequestHeader("Authorization") String authToken);
+    void sendNotification(@RequestBody NotificationRequest request, @RequestHeader("Authorization") String authToken,
+                          @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey);
 }
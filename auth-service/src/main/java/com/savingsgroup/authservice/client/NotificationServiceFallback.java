@@ -7,8 +7,8 @@ import org.springframework.stereotype.Component;
 public class NotificationServiceFallback implements NotificationServiceClient {
 
     @Override
-    public void sendNotification(NotificationRequest request, String authToken) {
-        // Log the failure but continue processing
-        System.out.println("Notification service is currently unavailable. Notification not sent.");
+    public void sendNotification(NotificationRequest request, String authToken, String idempotencyKey) {
+        // Fail so the outbox dispatcher keeps the notification and retries it later
+        throw new RuntimeException("Notification service is currently unavailable. Notification not sent.");
     }
-}
\ No newline at end of file
+}
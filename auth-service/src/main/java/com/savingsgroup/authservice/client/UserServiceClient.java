@@ -8,7 +8,8 @@ import org.springframework.web.bind.annotation.*;
 public interface UserServiceClient {
 
     @PostMapping("/api/users/create")
-    UserResponse createUser(@RequestBody UserResponse userResponse, @RequestHeader("Authorization") String authToken);
+    UserResponse createUser(@RequestBody UserResponse userResponse, @RequestHeader("Authorization") String authToken,
+                            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey);
 
     @GetMapping("/api/users/{userId}")
     UserResponse getUserById(@PathVariable("userId") String userId, @RequestHeader("Authorization") String authToken);
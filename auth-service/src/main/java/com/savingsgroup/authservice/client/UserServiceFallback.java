@@ -8,7 +8,7 @@ import org.springframework.stereotype.Component;
 public class UserServiceFallback implements UserServiceClient {
 
     @Override
-    public UserResponse createUser(UserResponse userResponse, String authToken) {
+    public UserResponse createUser(UserResponse userResponse, String authToken, String idempotencyKey) {
         // Return a default response or throw an exception
         throw new RuntimeException("User service is currently unavailable. Please try again later.");
     }
@@ -0,0 +1,50 @@
+package com.savingsgroup.authservice.config;
+
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code /actuator/mongoindexes}: per-collection index usage from {@code $indexStats}, to spot
+ * unused indexes and queries that miss the ones they were meant to hit. Counters reset when
+ * the mongod restarts.
+ */
+@Component
+@Endpoint(id = "mongoindexes")
+@RequiredArgsConstructor
+public class IndexUsageEndpoint {
+
+    private final MongoTemplate mongoTemplate;
+
+    @ReadOperation
+    public Map<String, List<Map<String, Object>>> indexUsage() {
+        Map<String, List<Map<String, Object>>> report = new LinkedHashMap<>();
+        for (String collection : mongoTemplate.getCollectionNames()) {
+            if (collection.startsWith("system.")) {
+                continue;
+            }
+            List<Map<String, Object>> indexes = new ArrayList<>();
+            mongoTemplate.getCollection(collection)
+                    .aggregate(List.of(new Document("$indexStats", new Document())))
+                    .forEach(stats -> {
+                        Document accesses = stats.get("accesses", Document.class);
+                        Map<String, Object> index = new LinkedHashMap<>();
+                        index.put("name", stats.getString("name"));
+                        index.put("key", stats.get("key"));
+                        index.put("ops", accesses.get("ops"));
+                        index.put("since", accesses.get("since"));
+                        indexes.add(index);
+                    });
+            report.put(collection, indexes);
+        }
+        return report;
+    }
+}
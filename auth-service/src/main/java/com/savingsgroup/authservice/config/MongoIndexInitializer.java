@@ -0,0 +1,96 @@
+package com.savingsgroup.authservice.config;
+
+import com.savingsgroup.authservice.model.JwtSigningKey;
+import com.savingsgroup.authservice.model.OutboxEvent;
+import com.savingsgroup.authservice.model.PasswordResetToken;
+import com.savingsgroup.authservice.model.RefreshTokenFamily;
+import com.savingsgroup.authservice.model.RevokedToken;
+import com.savingsgroup.authservice.model.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Ensures the indexes this service relies on once the application is up. Runs on a
+ * background thread so startup never blocks on MongoDB availability.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MongoIndexInitializer {
+
+    public static final String USERS_USERNAME_INDEX = "users_username_unique";
+    public static final String USERS_EMAIL_INDEX = "users_email_unique";
+    public static final String USERS_REGISTRATION_KEY_INDEX = "users_registration_key_unique";
+
+    private final MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexesAsync() {
+        Thread.ofVirtual().name("mongo-index-init").start(() -> {
+            try {
+                ensureIndexes();
+            } catch (Exception e) {
+                log.warn("Could not ensure MongoDB indexes: {}", e.getMessage());
+            }
+        });
+    }
+
+    void ensureIndexes() {
+        IndexOperations users = mongoTemplate.indexOps(User.class);
+        Collation caseInsensitive = Collation.of("en").strength(Collation.ComparisonLevel.secondary());
+        ensureIndex(users, new Index("username", Sort.Direction.ASC).unique().collation(caseInsensitive)
+                .named(USERS_USERNAME_INDEX));
+        ensureIndex(users, new Index("email", Sort.Direction.ASC).unique().collation(caseInsensitive)
+                .named(USERS_EMAIL_INDEX));
+        // Sparse: accounts registered before idempotency keys have none. Keys are hex digests, so no collation
+        ensureIndex(users, new Index("registrationKey", Sort.Direction.ASC).unique().sparse()
+                .named(USERS_REGISTRATION_KEY_INDEX));
+
+        IndexOperations outbox = mongoTemplate.indexOps(OutboxEvent.class);
+        outbox.ensureIndex(new Index("idempotencyKey", Sort.Direction.ASC).unique().named("outbox_idempotency_key"));
+        outbox.ensureIndex(new Index("status", Sort.Direction.ASC).on("nextAttemptAt", Sort.Direction.ASC)
+                .named("outbox_status_next_attempt"));
+        // Delivered events are kept for a week for troubleshooting, then purged
+        outbox.ensureIndex(new Index("sentAt", Sort.Direction.ASC).expire(Duration.ofDays(7)).named("outbox_sent_ttl"));
+
+        IndexOperations revokedTokens = mongoTemplate.indexOps(RevokedToken.class);
+        // Revocations are only needed until the token itself expires
+        revokedTokens.ensureIndex(new Index("expiresAt", Sort.Direction.ASC).expire(Duration.ZERO)
+                .named("revoked_expires_ttl"));
+        revokedTokens.ensureIndex(new Index("revokedAt", Sort.Direction.ASC).named("revoked_at"));
+
+        IndexOperations refreshFamilies = mongoTemplate.indexOps(RefreshTokenFamily.class);
+        refreshFamilies.ensureIndex(new Index("expiresAt", Sort.Direction.ASC).expire(Duration.ZERO)
+                .named("refresh_family_expires_ttl"));
+        refreshFamilies.ensureIndex(new Index("username", Sort.Direction.ASC).named("refresh_family_username"));
+
+        IndexOperations resetTokens = mongoTemplate.indexOps(PasswordResetToken.class);
+        // One outstanding token per user; issuing upserts on userId
+        ensureIndex(resetTokens, new Index("userId", Sort.Direction.ASC).unique().named("password_reset_user_unique"));
+        resetTokens.ensureIndex(new Index("tokenHash", Sort.Direction.ASC).named("password_reset_token_hash"));
+        resetTokens.ensureIndex(new Index("expiryDate", Sort.Direction.ASC).expire(Duration.ZERO)
+                .named("password_reset_expiry_ttl"));
+
+        mongoTemplate.indexOps(JwtSigningKey.class).ensureIndex(new Index("expiresAt", Sort.Direction.ASC)
+                .expire(Duration.ZERO).named("jwt_signing_key_expires_ttl"));
+    }
+
+    // Existing duplicates make a unique index build fail; report it without skipping the remaining indexes
+    private void ensureIndex(IndexOperations indexOps, Index index) {
+        try {
+            indexOps.ensureIndex(index);
+        } catch (Exception e) {
+            log.error("Could not create index {}: {}", index.getIndexOptions().get("name"), e.getMessage());
+        }
+    }
+}
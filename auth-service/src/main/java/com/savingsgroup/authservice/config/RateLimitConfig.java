@@ -0,0 +1,22 @@
+package com.savingsgroup.authservice.config;
+
+import com.savingsgroup.authservice.security.CountMinLoginAttemptStore;
+import com.savingsgroup.authservice.security.LoginAttemptStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RateLimitConfig {
+
+    // In-memory, per-instance limits unless a shared LoginAttemptStore bean is provided
+    @Bean
+    @ConditionalOnMissingBean(LoginAttemptStore.class)
+    public LoginAttemptStore loginAttemptStore(
+            @Value("${auth.login-limit.sketch-width:65536}") int width,
+            @Value("${auth.login-limit.sketch-depth:4}") int depth
+    ) {
+        return new CountMinLoginAttemptStore(width, depth);
+    }
+}
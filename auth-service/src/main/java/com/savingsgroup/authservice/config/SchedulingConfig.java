@@ -0,0 +1,12 @@
+package com.savingsgroup.authservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+    // Configuration for scheduling tasks
+    // The scheduler pool is sized by spring.task.scheduling.pool.size, one thread per @Scheduled job,
+    // since the outbox dispatcher blocks its thread until a batch is delivered
+}
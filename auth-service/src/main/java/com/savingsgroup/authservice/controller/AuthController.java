@@ -1,30 +1,71 @@
 package com.savingsgroup.authservice.controller;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.savingsgroup.authservice.client.NotificationRequest;
 import com.savingsgroup.authservice.dto.*;
+import com.savingsgroup.authservice.exception.CustomException;
+import com.savingsgroup.authservice.security.LoginRateLimiter;
 import com.savingsgroup.authservice.service.AuthService;
+import com.savingsgroup.authservice.service.TokenBatchValidator;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
 public class AuthController {
 
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final AuthService authService;
+    private final LoginRateLimiter loginRateLimiter;
+    private final TokenBatchValidator tokenBatchValidator;
+    private final ObjectMapper objectMapper;
 
+    /**
+     * Answers 201 with tokens when the account is created. A retry with the same
+     * {@code Idempotency-Key} answers 200 with {@code Idempotent-Replayed: true} and the
+     * stored account but no tokens; the client logs in to get them.
+     */
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(authService.register(request));
+    public ResponseEntity<AuthResponse> register(
+            @Valid @RequestBody RegisterRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            // Without a client key every request is a new registration
+            idempotencyKey = UUID.randomUUID().toString();
+        } else if (idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new CustomException("Idempotency-Key must be at most " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters",
+                    HttpStatus.BAD_REQUEST);
+        }
+        AuthService.Registration registration = authService.register(request, idempotencyKey);
+        if (registration.replayed()) {
+            return ResponseEntity.ok().header(IDEMPOTENT_REPLAYED, "true").body(registration.response());
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(registration.response());
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> authenticate(@Valid @RequestBody AuthRequest request) {
+    public ResponseEntity<AuthResponse> authenticate(
+            @Valid @RequestBody AuthRequest request,
+            HttpServletRequest servletRequest) {
+        // Throttled before any user lookup or password hashing
+        loginRateLimiter.checkLogin(servletRequest.getRemoteAddr(), request.getUsernameOrEmail());
         return ResponseEntity.ok(authService.authenticate(request));
     }
 
@@ -44,6 +85,34 @@ public class AuthController {
         return ResponseEntity.ok(authService.validateToken(token));
     }
 
+    @PostMapping(value = "/validate-tokens", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<TokenValidationResult>> validateTokens(
+            @Valid @RequestBody ValidateTokensRequest request) {
+        return ResponseEntity.ok(tokenBatchValidator.validate(request.getTokens()));
+    }
+
+    // Same as above, one JSON result per line, flushed after every chunk so large batches stream
+    @PostMapping(value = "/validate-tokens", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamValidateTokens(
+            @Valid @RequestBody ValidateTokensRequest request) {
+        tokenBatchValidator.checkBatchSize(request.getTokens());
+        StreamingResponseBody body = outputStream -> {
+            ObjectWriter writer = objectMapper.writer();
+            tokenBatchValidator.validate(request.getTokens(), chunk -> {
+                try {
+                    for (TokenValidationResult result : chunk) {
+                        outputStream.write(writer.writeValueAsBytes(result));
+                        outputStream.write('\n');
+                    }
+                    outputStream.flush();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @PostMapping("/forgot-password")
     public ResponseEntity<Void> forgotPassword(
             @Valid @RequestBody ForgotPasswordRequest request,
@@ -68,4 +137,14 @@ public class AuthController {
         authService.logout(token);
         return ResponseEntity.ok().build();
     }
+
+    @GetMapping("/revocations/filter")
+    public ResponseEntity<RevocationFilterResponse> getRevocationFilter() {
+        return ResponseEntity.ok(authService.getRevocationFilter());
+    }
+
+    @GetMapping("/revocations/{jti}")
+    public ResponseEntity<Map<String, Boolean>> isTokenRevoked(@PathVariable String jti) {
+        return ResponseEntity.ok(Map.of("revoked", authService.isTokenRevoked(jti)));
+    }
 }
@@ -0,0 +1,41 @@
+package com.savingsgroup.authservice.controller;
+
+import com.savingsgroup.authservice.security.JwtKeyManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publishes the access-token verification keys so other services can verify tokens
+ * locally. Responses are cacheable; the set changes at most once per rotation.
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final JwtKeyManager keyManager;
+
+    @Value("${jwt.jwks.max-age:5m}")
+    private Duration maxAge;
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> getJwks(WebRequest request) {
+        List<Map<String, Object>> keys = keyManager.getJwks();
+        String etag = "\"" + Integer.toHexString(keys.stream().map(key -> key.get("kid")).toList().hashCode()) + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(maxAge).cachePublic())
+                .eTag(etag)
+                .body(Map.of("keys", keys));
+    }
+}
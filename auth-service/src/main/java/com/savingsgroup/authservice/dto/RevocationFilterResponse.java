@@ -0,0 +1,18 @@
+package com.savingsgroup.authservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RevocationFilterResponse {
+    private byte[] bits;
+    private int numHashes;
+    private Instant generatedAt;
+}
@@ -0,0 +1,25 @@
+package com.savingsgroup.authservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Outcome for one token of a batch; {@code index} is its position in the request.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TokenValidationResult {
+    private int index;
+    private boolean valid;
+    private String error;
+    private Instant expiresAt;
+    private UserResponse user;
+}
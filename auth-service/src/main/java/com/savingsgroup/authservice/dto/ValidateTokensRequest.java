@@ -0,0 +1,19 @@
+package com.savingsgroup.authservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ValidateTokensRequest {
+
+    @NotEmpty(message = "At least one token is required")
+    private List<String> tokens;
+}
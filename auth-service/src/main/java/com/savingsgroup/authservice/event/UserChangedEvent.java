@@ -0,0 +1,16 @@
+package com.savingsgroup.authservice.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published whenever a user's credentials or account status change, so in-process
+ * caches holding that user can drop it.
+ */
+@Getter
+@AllArgsConstructor
+public class UserChangedEvent {
+    private final String userId;
+    private final String username;
+    private final String email;
+}
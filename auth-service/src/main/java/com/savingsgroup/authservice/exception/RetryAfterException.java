@@ -0,0 +1,22 @@
+package com.savingsgroup.authservice.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Signals that a request should be retried later; rendered with a {@code Retry-After}
+ * header. Defaults to 503 for overload.
+ */
+@Getter
+public class RetryAfterException extends CustomException {
+    private final long retryAfterSeconds;
+
+    public RetryAfterException(String message, long retryAfterSeconds) {
+        this(message, HttpStatus.SERVICE_UNAVAILABLE, retryAfterSeconds);
+    }
+
+    public RetryAfterException(String message, HttpStatus status, long retryAfterSeconds) {
+        super(message, status);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
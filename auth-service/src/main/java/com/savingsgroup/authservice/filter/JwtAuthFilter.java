@@ -1,27 +1,45 @@
 package com.savingsgroup.authservice.filter;
 
+import com.savingsgroup.authservice.model.AuthPrincipalView;
+import com.savingsgroup.authservice.model.Role;
 import com.savingsgroup.authservice.service.JwtService;
+import com.savingsgroup.authservice.service.ParsedToken;
+import com.savingsgroup.authservice.service.TokenClaims;
+import com.savingsgroup.authservice.service.TokenRevocationService;
+import com.savingsgroup.authservice.service.UserReadService;
+import com.savingsgroup.authservice.service.UserVersionService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final UserReadService userReadService;
+    private final UserVersionService userVersionService;
+    private final TokenRevocationService tokenRevocationService;
+
+    // When enabled, principals are rebuilt from verified claims instead of loading the user from MongoDB
+    @Value("${jwt.stateless.enabled:false}")
+    private boolean statelessPrincipal;
 
     @Override
     protected void doFilterInternal(
@@ -30,7 +48,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             FilterChain filterChain
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
+        final ParsedToken token;
         final String username;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -38,13 +56,22 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             return;
         }
 
-        jwt = authHeader.substring(7);
-        username = jwtService.extractUsername(jwt);
+        // Opaque refresh tokens and malformed or expired JWTs leave the request unauthenticated
+        try {
+            token = jwtService.parseToken(authHeader.substring(7));
+        } catch (JwtException | IllegalArgumentException e) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        username = token.getSubject();
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null
+                && !tokenRevocationService.isRevoked(token.getId())) {
+            UserDetails userDetails = statelessPrincipal && hasPrincipalClaims(token)
+                    ? principalFromClaims(token)
+                    : userReadService.findAuthPrincipal(username).map(this::principalFromView).orElse(null);
 
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+            if (userDetails != null && jwtService.isTokenValid(token, userDetails)) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -54,9 +81,61 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                         new WebAuthenticationDetailsSource().buildDetails(request)
                 );
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+                MDC.put(RequestLoggingFilter.USER, username);
             }
         }
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private boolean hasPrincipalClaims(ParsedToken token) {
+        Claims claims = token.getClaims();
+        return claims.containsKey(TokenClaims.ROLES)
+                && claims.containsKey(TokenClaims.ACCOUNT_STATUS)
+                && claims.containsKey(TokenClaims.VERSION);
+    }
+
+    /**
+     * Builds the principal from verified claims. Returns null for disabled or locked
+     * accounts and for tokens issued before the user's current token version.
+     */
+    @SuppressWarnings("unchecked")
+    private UserDetails principalFromClaims(ParsedToken token) {
+        Claims claims = token.getClaims();
+        int status = claims.get(TokenClaims.ACCOUNT_STATUS, Integer.class);
+        long version = claims.get(TokenClaims.VERSION, Number.class).longValue();
+
+        if (!TokenClaims.isEnabled(status) || !TokenClaims.isAccountNonLocked(status)
+                || !userVersionService.isCurrent(token.getSubject(), version)) {
+            return null;
+        }
+
+        List<String> roles = claims.get(TokenClaims.ROLES, List.class);
+        return User.withUsername(token.getSubject())
+                .password("")
+                .authorities(roles.stream()
+                        .flatMap(role -> Role.valueOf(role).getAuthorities().stream())
+                        .toList())
+                .disabled(false)
+                .accountLocked(false)
+                .accountExpired(!TokenClaims.isAccountNonExpired(status))
+                .credentialsExpired(!TokenClaims.isCredentialsNonExpired(status))
+                .build();
+    }
+
+    /**
+     * Builds the principal from the projected user, without loading or keeping the password
+     * hash. Returns null for disabled or locked accounts.
+     */
+    private UserDetails principalFromView(AuthPrincipalView principal) {
+        if (!principal.isEnabled() || !principal.isAccountNonLocked()) {
+            return null;
+        }
+        return User.withUsername(principal.getUsername())
+                .password("")
+                .authorities(principal.getRole().getAuthorities())
+                .accountExpired(!principal.isAccountNonExpired())
+                .credentialsExpired(!principal.isCredentialsNonExpired())
+                .build();
+    }
+}
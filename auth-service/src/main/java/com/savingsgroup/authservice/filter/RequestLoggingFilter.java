@@ -0,0 +1,64 @@
+package com.savingsgroup.authservice.filter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outermost filter: tags every log line written while handling a request with a request id
+ * in the MDC, and logs one line per request with the matched endpoint, status and latency.
+ * {@link JwtAuthFilter} adds the authenticated user and the MVC interceptor the endpoint.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID = "requestId";
+    public static final String ENDPOINT = "endpoint";
+    public static final String USER = "user";
+
+    private static final String REQUEST_ID_HEADER = "X-Request-Id";
+    private static final int MAX_REQUEST_ID_LENGTH = 64;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        long start = System.nanoTime();
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId == null || requestId.isBlank() || requestId.length() > MAX_REQUEST_ID_LENGTH) {
+            requestId = UUID.randomUUID().toString();
+        }
+        MDC.put(REQUEST_ID, requestId);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            MDC.put(ENDPOINT, request.getMethod() + " " + (pattern != null ? pattern : "unmatched"));
+            log.atInfo()
+                    .addKeyValue("status", response.getStatus())
+                    .addKeyValue("latencyMs", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                    .log("Request completed");
+            MDC.remove(REQUEST_ID);
+            MDC.remove(ENDPOINT);
+            MDC.remove(USER);
+        }
+    }
+}
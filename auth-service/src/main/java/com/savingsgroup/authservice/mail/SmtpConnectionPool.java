@@ -0,0 +1,149 @@
+package com.savingsgroup.authservice.mail;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps up to {@code auth.mail.pool-size} authenticated SMTP connections open between
+ * sends, so the TCP, STARTTLS and AUTH handshakes are paid once per connection instead of
+ * once per message. Connections idle for longer than {@code auth.mail.idle-timeout} are
+ * closed before the server drops them.
+ */
+@Component
+@Slf4j
+public class SmtpConnectionPool implements DisposableBean {
+
+    // Connections used more recently than this are trusted without a NOOP round trip
+    private static final long TRUSTED_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final JavaMailSenderImpl mailSender;
+    private final int poolSize;
+    private final Semaphore permits;
+    private final long idleTimeoutNanos;
+    private final long borrowTimeoutNanos;
+    private final ConcurrentLinkedDeque<PooledTransport> idle = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger open = new AtomicInteger();
+    private final Counter opened;
+
+    public SmtpConnectionPool(
+            JavaMailSenderImpl mailSender,
+            MeterRegistry meterRegistry,
+            @Value("${auth.mail.pool-size:2}") int poolSize,
+            @Value("${auth.mail.idle-timeout:60s}") Duration idleTimeout,
+            @Value("${auth.mail.borrow-timeout:30s}") Duration borrowTimeout
+    ) {
+        this.mailSender = mailSender;
+        this.poolSize = poolSize;
+        this.permits = new Semaphore(poolSize, true);
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.borrowTimeoutNanos = borrowTimeout.toNanos();
+        this.opened = Counter.builder("auth.mail.connections.opened").register(meterRegistry);
+        meterRegistry.gauge("auth.mail.connections.open", open);
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Returns a connected transport, reusing an idle one when possible. Every borrowed
+     * transport must be given back with {@link #release}.
+     */
+    public Transport borrow() throws MessagingException, InterruptedException {
+        if (!permits.tryAcquire(borrowTimeoutNanos, TimeUnit.NANOSECONDS)) {
+            throw new MessagingException("No SMTP connection became available");
+        }
+        try {
+            PooledTransport pooled;
+            // Most recently used first, so surplus connections age out
+            while ((pooled = idle.pollFirst()) != null) {
+                long idleNanos = System.nanoTime() - pooled.releasedAt();
+                if (idleNanos < TRUSTED_NANOS || (idleNanos < idleTimeoutNanos && pooled.transport().isConnected())) {
+                    return pooled.transport();
+                }
+                close(pooled.transport());
+            }
+            return connect();
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a transport to the pool, or closes it if it may be broken.
+     */
+    public void release(Transport transport, boolean reusable) {
+        if (reusable) {
+            idle.offerFirst(new PooledTransport(transport, System.nanoTime()));
+        } else {
+            close(transport);
+        }
+        permits.release();
+    }
+
+    @Scheduled(fixedDelayString = "${auth.mail.idle-check-interval:30000}")
+    public void closeIdle() {
+        long now = System.nanoTime();
+        Iterator<PooledTransport> it = idle.iterator();
+        while (it.hasNext()) {
+            PooledTransport pooled = it.next();
+            if (now - pooled.releasedAt() >= idleTimeoutNanos && idle.removeFirstOccurrence(pooled)) {
+                close(pooled.transport());
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            close(pooled.transport());
+        }
+    }
+
+    private Transport connect() throws MessagingException {
+        Transport transport = mailSender.getSession().getTransport(
+                mailSender.getProtocol() != null ? mailSender.getProtocol() : "smtp");
+        String username = mailSender.getUsername();
+        String password = mailSender.getPassword();
+        if ("".equals(username)) {
+            username = null;
+            if ("".equals(password)) {
+                password = null;
+            }
+        }
+        transport.connect(mailSender.getHost(), mailSender.getPort(), username, password);
+        open.incrementAndGet();
+        opened.increment();
+        return transport;
+    }
+
+    private void close(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Error closing SMTP connection: {}", e.getMessage());
+        } finally {
+            open.decrementAndGet();
+        }
+    }
+
+    private record PooledTransport(Transport transport, long releasedAt) {
+    }
+}
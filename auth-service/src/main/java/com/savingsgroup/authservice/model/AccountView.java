@@ -0,0 +1,8 @@
+package com.savingsgroup.authservice.model;
+
+/**
+ * Principal and profile fields together, for responses that issue a token and echo the
+ * profile. Still excludes the password hash and timestamps.
+ */
+public interface AccountView extends AuthPrincipalView, ProfileView {
+}
@@ -0,0 +1,24 @@
+package com.savingsgroup.authservice.model;
+
+/**
+ * The fields of a {@link User} needed to authorize a request or mint an access token.
+ * Used as a closed projection, so the password hash and profile fields are never read.
+ */
+public interface AuthPrincipalView {
+
+    String getId();
+
+    String getUsername();
+
+    Role getRole();
+
+    long getTokenVersion();
+
+    boolean isEnabled();
+
+    boolean isAccountNonExpired();
+
+    boolean isAccountNonLocked();
+
+    boolean isCredentialsNonExpired();
+}
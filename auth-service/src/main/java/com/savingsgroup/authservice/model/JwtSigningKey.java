@@ -0,0 +1,36 @@
+package com.savingsgroup.authservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * An access-token signing key pair, shared by all auth-service instances. The key signs
+ * tokens from {@code activatesAt} until {@code retiresAt} and is published for verification
+ * until {@code expiresAt}, when MongoDB removes it. The private key is encrypted under
+ * {@code jwt.signing.key-encryption-key}; the collection should still only be readable by
+ * auth-service.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "jwt_signing_keys")
+public class JwtSigningKey {
+
+    @Id
+    private String kid;
+    private String algorithm;
+    // Base64 of the AES-GCM IV and encrypted PKCS#8 encoding, bound to the kid
+    private String privateKey;
+    // Base64 X.509 encoding
+    private String publicKey;
+    private Instant activatesAt;
+    private Instant retiresAt;
+    private Instant expiresAt;
+}
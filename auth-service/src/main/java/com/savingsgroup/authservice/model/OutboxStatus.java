@@ -0,0 +1,5 @@
+package com.savingsgroup.authservice.model;
+
+public enum OutboxStatus {
+    PENDING, PROCESSING, SENT, FAILED
+}
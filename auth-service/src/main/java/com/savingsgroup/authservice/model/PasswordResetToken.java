@@ -8,8 +8,12 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
-import java.time.LocalDateTime;
+import java.time.Instant;
 
+/**
+ * The outstanding password reset of one user. Only the SHA-256 of the emailed token is
+ * stored, and MongoDB deletes the record once {@code expiryDate} has passed.
+ */
 @Data
 @Builder
 @NoArgsConstructor
@@ -19,7 +23,7 @@ public class PasswordResetToken {
 
     @Id
     private String id;
-    private String token;
+    private String tokenHash;
     private String userId;
-    private LocalDateTime expiryDate;
-}
\ No newline at end of file
+    private Instant expiryDate;
+}
@@ -0,0 +1,21 @@
+package com.savingsgroup.authservice.model;
+
+/**
+ * The public profile fields of a {@link User}, as returned to clients.
+ */
+public interface ProfileView {
+
+    String getId();
+
+    String getUsername();
+
+    String getEmail();
+
+    String getFirstName();
+
+    String getLastName();
+
+    Role getRole();
+
+    String getPhoneNumber();
+}
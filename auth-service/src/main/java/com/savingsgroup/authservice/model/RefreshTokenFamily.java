@@ -0,0 +1,30 @@
+package com.savingsgroup.authservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * One login session's chain of rotating refresh tokens. Only the SHA-256 of the current
+ * token is stored; presenting any earlier token of the family is treated as theft and
+ * removes the whole family. MongoDB deletes the record once {@code expiresAt} passes.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "refresh_token_families")
+public class RefreshTokenFamily {
+
+    @Id
+    private String id;
+    private String username;
+    private long sequence;
+    private String tokenHash;
+    private Instant expiresAt;
+}
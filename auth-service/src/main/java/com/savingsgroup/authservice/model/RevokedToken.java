@@ -0,0 +1,28 @@
+package com.savingsgroup.authservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * A token revoked before its natural expiry, keyed by its {@code jti}. MongoDB removes the
+ * record once {@code expiresAt} has passed, since the token is rejected on exp by then.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "revoked_tokens")
+public class RevokedToken {
+
+    @Id
+    private String jti;
+    private String username;
+    private Instant expiresAt;
+    private Instant revokedAt;
+}
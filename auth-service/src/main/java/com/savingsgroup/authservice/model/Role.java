@@ -1,5 +1,17 @@
 package com.savingsgroup.authservice.model;
 
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
 public enum Role {
-    USER, ADMIN, GROUP_ADMIN
+    USER, ADMIN, GROUP_ADMIN;
+
+    // Shared, immutable authority list so principals never allocate their own
+    private final List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + name()));
+
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
 }
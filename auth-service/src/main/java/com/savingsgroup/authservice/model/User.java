@@ -8,19 +8,20 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
-import java.util.Collections;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Document(collection = "users")
-public class User implements UserDetails {
+// Case-insensitive collation, matching the unique username/email indexes so every query can use them
+@Document(collection = "users", collation = User.COLLATION)
+public class User implements UserDetails, AccountView {
+
+    public static final String COLLATION = "{ 'locale': 'en', 'strength': 2 }";
 
     @Id
     private String id;
@@ -39,9 +40,15 @@ public class User implements UserDetails {
     private boolean accountNonLocked;
     private boolean credentialsNonExpired;
 
+    // Bumped whenever credentials or account status change; tokens carrying an older value are rejected
+    private long tokenVersion;
+
+    // SHA-256 of the Idempotency-Key the account was registered with; lets retries reuse this user
+    private String registrationKey;
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name()));
+        return role.getAuthorities();
     }
 
     @Override
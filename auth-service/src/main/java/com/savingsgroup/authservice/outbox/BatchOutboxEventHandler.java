@@ -0,0 +1,28 @@
+package com.savingsgroup.authservice.outbox;
+
+import com.savingsgroup.authservice.model.OutboxEvent;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A handler that delivers all claimed events of its type in one call, for transports where
+ * per-event setup dominates the cost. The dispatcher still records each event's outcome
+ * separately.
+ */
+public interface BatchOutboxEventHandler extends OutboxEventHandler {
+
+    /**
+     * Delivers {@code events} and returns the failures, keyed by event id. Events missing
+     * from the result are marked as sent.
+     */
+    Map<String, Exception> handleBatch(List<OutboxEvent> events);
+
+    @Override
+    default void handle(OutboxEvent event) throws Exception {
+        Exception failure = handleBatch(List.of(event)).get(event.getId());
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.savingsgroup.authservice.outbox;
+
+import com.savingsgroup.authservice.mail.SmtpConnectionPool;
+import com.savingsgroup.authservice.model.OutboxEvent;
+import com.savingsgroup.authservice.service.EmailService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Sends queued emails over pooled SMTP connections. A claimed batch is split into runs of
+ * {@code auth.mail.messages-per-connection}, each sent back to back on one connection.
+ */
+@Component
+public class EmailHandler implements BatchOutboxEventHandler {
+
+    private final SmtpConnectionPool connectionPool;
+    private final JavaMailSenderImpl mailSender;
+    private final EmailService emailService;
+    private final String from;
+    private final int messagesPerConnection;
+    // Platform threads: Transport.connect and sendMessage are synchronized, and a virtual thread
+    // blocking on SMTP inside them would pin its carrier. Runs beyond the pool size would only
+    // wait for a connection anyway.
+    private final ExecutorService executor;
+    private final Counter sent;
+    private final Counter failed;
+
+    public EmailHandler(
+            SmtpConnectionPool connectionPool,
+            JavaMailSenderImpl mailSender,
+            EmailService emailService,
+            MeterRegistry meterRegistry,
+            @Value("${auth.mail.from:}") String from,
+            @Value("${auth.mail.messages-per-connection:25}") int messagesPerConnection
+    ) {
+        this.connectionPool = connectionPool;
+        this.mailSender = mailSender;
+        this.emailService = emailService;
+        this.from = from;
+        this.messagesPerConnection = messagesPerConnection;
+        this.executor = Executors.newFixedThreadPool(connectionPool.getPoolSize(),
+                Thread.ofPlatform().name("smtp-sender-", 0).daemon().factory());
+        this.sent = Counter.builder("auth.mail.messages").tag("result", "sent").register(meterRegistry);
+        this.failed = Counter.builder("auth.mail.messages").tag("result", "failed").register(meterRegistry);
+    }
+
+    @Override
+    public String getType() {
+        return OutboxEventTypes.EMAIL;
+    }
+
+    @Override
+    public Map<String, Exception> handleBatch(List<OutboxEvent> events) {
+        Map<String, Exception> failures = new ConcurrentHashMap<>();
+        List<Future<?>> runs = new ArrayList<>();
+        for (int start = 0; start < events.size(); start += messagesPerConnection) {
+            List<OutboxEvent> run = events.subList(start, Math.min(start + messagesPerConnection, events.size()));
+            runs.add(executor.submit(() -> sendRun(run, failures)));
+        }
+        for (Future<?> run : runs) {
+            try {
+                run.get();
+            } catch (Exception e) {
+                throw new IllegalStateException("Email run failed", e);
+            }
+        }
+        return failures;
+    }
+
+    private void sendRun(List<OutboxEvent> run, Map<String, Exception> failures) {
+        Transport transport;
+        try {
+            transport = connectionPool.borrow();
+        } catch (Exception e) {
+            run.forEach(event -> fail(event, e, failures));
+            return;
+        }
+
+        boolean reusable = true;
+        try {
+            for (int i = 0; i < run.size(); i++) {
+                OutboxEvent event = run.get(i);
+                MimeMessage message;
+                try {
+                    message = toMessage(event);
+                } catch (MessagingException | RuntimeException e) {
+                    fail(event, e, failures);
+                    continue;
+                }
+                try {
+                    transport.sendMessage(message, message.getAllRecipients());
+                    sent.increment();
+                } catch (SendFailedException e) {
+                    // Rejected recipient; the connection itself is fine
+                    fail(event, e, failures);
+                } catch (MessagingException | RuntimeException e) {
+                    // The connection is suspect: drop it and leave the rest of the run for the next attempt
+                    reusable = false;
+                    for (OutboxEvent remaining : run.subList(i, run.size())) {
+                        fail(remaining, e, failures);
+                    }
+                    break;
+                }
+            }
+        } finally {
+            connectionPool.release(transport, reusable);
+        }
+    }
+
+    private MimeMessage toMessage(OutboxEvent event) throws MessagingException {
+        Map<String, Object> payload = event.getPayload();
+        EmailService.RenderedEmail email = emailService.render(payload);
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        if (!from.isEmpty()) {
+            helper.setFrom(from);
+        }
+        helper.setTo((String) payload.get("to"));
+        helper.setSubject(email.subject());
+        helper.setText(email.body());
+        message.saveChanges();
+        return message;
+    }
+
+    private void fail(OutboxEvent event, Exception e, Map<String, Exception> failures) {
+        failed.increment();
+        failures.put(event.getId(), e);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
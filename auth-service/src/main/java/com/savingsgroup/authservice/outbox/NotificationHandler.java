@@ -0,0 +1,54 @@
+package com.savingsgroup.authservice.outbox;
+
+import com.savingsgroup.authservice.client.NotificationRequest;
+import com.savingsgroup.authservice.client.NotificationServiceClient;
+import com.savingsgroup.authservice.model.OutboxEvent;
+import com.savingsgroup.authservice.model.User;
+import com.savingsgroup.authservice.service.JwtService;
+import com.savingsgroup.authservice.service.UserCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Sends a user notification through notification-service.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationHandler implements OutboxEventHandler {
+
+    private final NotificationServiceClient notificationServiceClient;
+    private final UserCache userCache;
+    private final JwtService jwtService;
+
+    @Override
+    public String getType() {
+        return OutboxEventTypes.NOTIFICATION;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        Map<String, Object> payload = event.getPayload();
+        String username = (String) payload.get("username");
+        Optional<User> user = userCache.findByUsername(username);
+        if (user.isEmpty()) {
+            log.warn("Skipping notification for {}: user no longer exists", username);
+            return;
+        }
+
+        NotificationRequest notificationRequest = NotificationRequest.builder()
+                .userId(event.getAggregateId())
+                .title((String) payload.get("title"))
+                .message((String) payload.get("message"))
+                .type((String) payload.get("type"))
+                .build();
+
+        // Internal-scope token on behalf of the user
+        String token = jwtService.generateTokenWithClaims(user.get(), Map.of("scope", "internal"));
+        notificationServiceClient.sendNotification(notificationRequest, "Bearer " + token, event.getIdempotencyKey());
+    }
+}
@@ -0,0 +1,190 @@
+package com.savingsgroup.authservice.outbox;
+
+import com.savingsgroup.authservice.model.OutboxEvent;
+import com.savingsgroup.authservice.model.OutboxStatus;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the outbox in batches. Events are claimed with an atomic findAndModify and a
+ * lease, so several auth-service instances can poll the same collection, and are
+ * delivered concurrently on virtual threads. Events whose handler is a
+ * {@link BatchOutboxEventHandler} are handed to it together. Failures are retried with
+ * exponential backoff until {@code auth.outbox.max-attempts} is reached.
+ */
+@Component
+@Slf4j
+public class OutboxDispatcher {
+
+    private final MongoTemplate mongoTemplate;
+    private final Map<String, OutboxEventHandler> handlers;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${auth.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${auth.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    @Value("${auth.outbox.lease:60s}")
+    private Duration lease;
+
+    @Value("${auth.outbox.initial-backoff:2s}")
+    private Duration initialBackoff;
+
+    @Value("${auth.outbox.max-backoff:10m}")
+    private Duration maxBackoff;
+
+    public OutboxDispatcher(MongoTemplate mongoTemplate, List<OutboxEventHandler> handlers) {
+        this.mongoTemplate = mongoTemplate;
+        this.handlers = handlers.stream()
+                .collect(Collectors.toUnmodifiableMap(OutboxEventHandler::getType, Function.identity()));
+    }
+
+    @Scheduled(fixedDelayString = "${auth.outbox.poll-interval:1000}")
+    public void dispatch() {
+        List<OutboxEvent> batch;
+        try {
+            batch = claimBatch();
+        } catch (Exception e) {
+            log.warn("Could not claim outbox events: {}", e.getMessage());
+            return;
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<Future<?>> deliveries = new ArrayList<>(batch.size());
+        Map<String, List<OutboxEvent>> batched = new HashMap<>();
+        for (OutboxEvent event : batch) {
+            if (handlers.get(event.getType()) instanceof BatchOutboxEventHandler) {
+                batched.computeIfAbsent(event.getType(), type -> new ArrayList<>()).add(event);
+            } else {
+                deliveries.add(executor.submit(() -> deliver(event)));
+            }
+        }
+        batched.forEach((type, events) -> deliveries.add(executor.submit(
+                () -> deliverBatch((BatchOutboxEventHandler) handlers.get(type), events))));
+        for (Future<?> delivery : deliveries) {
+            try {
+                delivery.get();
+            } catch (Exception e) {
+                log.error("Outbox delivery task failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private List<OutboxEvent> claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        Query claimable = Query.query(new Criteria().orOperator(
+                Criteria.where("status").is(OutboxStatus.PENDING).and("nextAttemptAt").lte(now),
+                // Reclaim events whose previous dispatcher died mid-delivery
+                Criteria.where("status").is(OutboxStatus.PROCESSING).and("lockedUntil").lt(now)
+        ));
+        Update claim = new Update()
+                .set("status", OutboxStatus.PROCESSING)
+                .set("lockedUntil", now.plus(lease));
+
+        List<OutboxEvent> batch = new ArrayList<>();
+        while (batch.size() < batchSize) {
+            OutboxEvent event = mongoTemplate.findAndModify(claimable, claim,
+                    FindAndModifyOptions.options().returnNew(true), OutboxEvent.class);
+            if (event == null) {
+                break;
+            }
+            batch.add(event);
+        }
+        return batch;
+    }
+
+    private void deliver(OutboxEvent event) {
+        OutboxEventHandler handler = handlers.get(event.getType());
+        try {
+            if (handler == null) {
+                throw new IllegalStateException("No outbox handler for type " + event.getType());
+            }
+            handler.handle(event);
+            markSent(event);
+        } catch (Exception e) {
+            markFailed(event, e);
+        }
+    }
+
+    private void deliverBatch(BatchOutboxEventHandler handler, List<OutboxEvent> events) {
+        Map<String, Exception> failures;
+        try {
+            failures = handler.handleBatch(events);
+        } catch (Exception e) {
+            events.forEach(event -> markFailed(event, e));
+            return;
+        }
+        for (OutboxEvent event : events) {
+            Exception failure = failures.get(event.getId());
+            if (failure == null) {
+                markSent(event);
+            } else {
+                markFailed(event, failure);
+            }
+        }
+    }
+
+    private void markSent(OutboxEvent event) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(event.getId())),
+                new Update()
+                        .set("status", OutboxStatus.SENT)
+                        .set("sentAt", LocalDateTime.now())
+                        .unset("lockedUntil")
+                        .unset("lastError"),
+                OutboxEvent.class);
+    }
+
+    private void markFailed(OutboxEvent event, Exception e) {
+        int attempts = event.getAttempts() + 1;
+        boolean exhausted = attempts >= maxAttempts;
+        Update update = new Update()
+                .set("attempts", attempts)
+                .set("status", exhausted ? OutboxStatus.FAILED : OutboxStatus.PENDING)
+                .set("nextAttemptAt", LocalDateTime.now().plus(backoff(attempts)))
+                .set("lastError", e.getMessage())
+                .unset("lockedUntil");
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(event.getId())), update, OutboxEvent.class);
+
+        // Logged once per failed delivery, so an unavailable downstream service produces a steady stream
+        (exhausted ? log.atError() : log.atWarn())
+                .addKeyValue("userId", event.getAggregateId())
+                .addKeyValue("operation", event.getType())
+                .addKeyValue("attempt", attempts)
+                .log(exhausted ? "Giving up on outbox event {} after {} attempts: {}" : "Outbox event {} failed, attempt {}: {}",
+                        event.getIdempotencyKey(), attempts, e.getMessage());
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
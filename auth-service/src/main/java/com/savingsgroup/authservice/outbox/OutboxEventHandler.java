@@ -0,0 +1,14 @@
+package com.savingsgroup.authservice.outbox;
+
+import com.savingsgroup.authservice.model.OutboxEvent;
+
+/**
+ * Delivers one type of outbox event. Implementations must be safe to call more than once
+ * for the same event; the event's idempotency key is forwarded so receivers can dedupe.
+ */
+public interface OutboxEventHandler {
+
+    String getType();
+
+    void handle(OutboxEvent event) throws Exception;
+}
@@ -0,0 +1,11 @@
+package com.savingsgroup.authservice.outbox;
+
+public final class OutboxEventTypes {
+
+    public static final String USER_CREATED = "USER_CREATED";
+    public static final String NOTIFICATION = "NOTIFICATION";
+    public static final String EMAIL = "EMAIL";
+
+    private OutboxEventTypes() {
+    }
+}
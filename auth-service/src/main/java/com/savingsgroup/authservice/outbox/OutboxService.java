@@ -0,0 +1,43 @@
+package com.savingsgroup.authservice.outbox;
+
+import com.savingsgroup.authservice.model.OutboxEvent;
+import com.savingsgroup.authservice.model.OutboxStatus;
+import com.savingsgroup.authservice.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    /**
+     * Records a side effect to be delivered by the {@link OutboxDispatcher}. Enqueueing the
+     * same idempotency key twice is a no-op.
+     */
+    public void enqueue(String type, String idempotencyKey, String aggregateId, Map<String, Object> payload) {
+        LocalDateTime now = LocalDateTime.now();
+        OutboxEvent event = OutboxEvent.builder()
+                .idempotencyKey(idempotencyKey)
+                .type(type)
+                .aggregateId(aggregateId)
+                .payload(payload)
+                .status(OutboxStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+        try {
+            outboxEventRepository.insert(event);
+        } catch (DuplicateKeyException e) {
+            log.debug("Outbox event {} already enqueued", idempotencyKey);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.savingsgroup.authservice.outbox;
+
+import com.savingsgroup.authservice.client.UserServiceClient;
+import com.savingsgroup.authservice.dto.UserResponse;
+import com.savingsgroup.authservice.model.OutboxEvent;
+import com.savingsgroup.authservice.model.Role;
+import com.savingsgroup.authservice.model.User;
+import com.savingsgroup.authservice.service.JwtService;
+import com.savingsgroup.authservice.service.UserCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Creates the user-service profile for a newly registered user.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserProvisioningHandler implements OutboxEventHandler {
+
+    private final UserServiceClient userServiceClient;
+    private final UserCache userCache;
+    private final JwtService jwtService;
+
+    @Override
+    public String getType() {
+        return OutboxEventTypes.USER_CREATED;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) {
+        Map<String, Object> payload = event.getPayload();
+        String username = (String) payload.get("username");
+        Optional<User> user = userCache.findByUsername(username);
+        if (user.isEmpty()) {
+            log.warn("Skipping user provisioning for {}: user no longer exists", username);
+            return;
+        }
+
+        UserResponse userResponse = UserResponse.builder()
+                .id((String) payload.get("id"))
+                .username(username)
+                .email((String) payload.get("email"))
+                .firstName((String) payload.get("firstName"))
+                .lastName((String) payload.get("lastName"))
+                .role(Role.valueOf((String) payload.get("role")))
+                .phoneNumber((String) payload.get("phoneNumber"))
+                .build();
+
+        userServiceClient.createUser(userResponse, "Bearer " + jwtService.generateToken(user.get()),
+                event.getIdempotencyKey());
+    }
+}
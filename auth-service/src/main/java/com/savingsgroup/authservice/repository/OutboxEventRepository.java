@@ -0,0 +1,7 @@
+package com.savingsgroup.authservice.repository;
+
+import com.savingsgroup.authservice.model.OutboxEvent;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface OutboxEventRepository extends MongoRepository<OutboxEvent, String> {
+}
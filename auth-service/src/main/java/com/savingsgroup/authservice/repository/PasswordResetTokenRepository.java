@@ -1,12 +0,0 @@
-package com.savingsgroup.authservice.repository;
-
-import com.savingsgroup.authservice.model.PasswordResetToken;
-import org.springframework.data.mongodb.repository.MongoRepository;
-
-import java.util.Optional;
-
-public interface PasswordResetTokenRepository extends MongoRepository<PasswordResetToken, String> {
-
-    Optional<PasswordResetToken> findByToken(String token);
-    Optional<PasswordResetToken> findByUserId(String userId);
-}
\ No newline at end of file
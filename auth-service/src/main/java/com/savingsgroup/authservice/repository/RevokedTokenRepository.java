@@ -0,0 +1,7 @@
+package com.savingsgroup.authservice.repository;
+
+import com.savingsgroup.authservice.model.RevokedToken;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface RevokedTokenRepository extends MongoRepository<RevokedToken, String> {
+}
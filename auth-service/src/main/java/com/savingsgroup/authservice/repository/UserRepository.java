@@ -1,14 +1,33 @@
 package com.savingsgroup.authservice.repository;
 
+import com.savingsgroup.authservice.model.AccountView;
+import com.savingsgroup.authservice.model.AuthPrincipalView;
 import com.savingsgroup.authservice.model.User;
+import org.springframework.data.mongodb.core.annotation.Collation;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface UserRepository extends MongoRepository<User, String> {
+public interface UserRepository extends MongoRepository<User, String>, UserRepositoryCustom {
 
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    // Registration keys are hex digests, indexed without the case-insensitive default collation
+    @Collation("simple")
+    Optional<User> findByRegistrationKey(String registrationKey);
+
+    // Closed projections: only the view's fields are requested from MongoDB
+    Optional<AuthPrincipalView> findAuthPrincipalByUsername(String username);
+    Optional<AccountView> findAccountByUsername(String username);
+    List<AccountView> findAccountsByUsernameIn(Collection<String> usernames);
+
+    // One round trip for login; at most two matches since both fields are uniquely indexed
+    @Query("{ '$or': [ { 'username': ?0 }, { 'email': ?0 } ] }")
+    List<User> findByUsernameOrEmail(String usernameOrEmail);
+}
@@ -0,0 +1,13 @@
+package com.savingsgroup.authservice.repository;
+
+import com.savingsgroup.authservice.model.User;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Sets a new password hash and bumps {@code tokenVersion} in one findAndModify.
+     *
+     * @return the updated user, or null if there is no user with that id
+     */
+    User updatePassword(String id, String encodedPassword);
+}
@@ -0,0 +1,27 @@
+package com.savingsgroup.authservice.repository;
+
+import com.savingsgroup.authservice.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+
+@RequiredArgsConstructor
+class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public User updatePassword(String id, String encodedPassword) {
+        Update update = new Update()
+                .set("password", encodedPassword)
+                .set("updatedAt", LocalDateTime.now())
+                .inc("tokenVersion", 1);
+        return mongoTemplate.findAndModify(Query.query(Criteria.where("_id").is(id)), update,
+                FindAndModifyOptions.options().returnNew(true), User.class);
+    }
+}
@@ -0,0 +1,113 @@
+package com.savingsgroup.authservice.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Token buckets for an unbounded key space in fixed memory. Each bucket is a GCRA
+ * "theoretical arrival time" spread over {@code depth} rows of a count-min sketch: a key's
+ * state is the minimum of its cells, and updates only ever raise cells, so colliding keys
+ * can make a bucket look fuller than it is but never emptier. All updates are CAS on
+ * independent cells, with no locks. Each row indexes with its own seeded murmur3 hash of
+ * the key's bytes, so keys that collide in one row are unlikely to collide in another.
+ * <p>
+ * Two concurrent attempts for the same key may both be admitted when the bucket holds a
+ * single token; the limit is approximate by that margin.
+ */
+public class CountMinLoginAttemptStore implements LoginAttemptStore {
+
+    private final AtomicLongArray cells;
+    private final int depth;
+    private final int widthMask;
+    private final int[] seeds;
+    private final long origin = System.nanoTime();
+
+    /**
+     * @param width cells per row, rounded up to a power of two
+     */
+    public CountMinLoginAttemptStore(int width, int depth) {
+        int rowWidth = Integer.highestOneBit(Math.max(2, width) * 2 - 1);
+        this.cells = new AtomicLongArray(rowWidth * depth);
+        this.depth = depth;
+        this.widthMask = rowWidth - 1;
+        this.seeds = new int[depth];
+        for (int row = 0; row < depth; row++) {
+            seeds[row] = (int) mix(0x9E3779B97F4A7C15L * (row + 1));
+        }
+    }
+
+    @Override
+    public long tryAcquire(String key, long intervalNanos, int burst) {
+        // Offset from construction so the empty cell value 0 is always in the past
+        long now = System.nanoTime() - origin;
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        int[] indexes = new int[depth];
+
+        long arrival = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            indexes[row] = row * (widthMask + 1) + (murmur3(bytes, seeds[row]) & widthMask);
+            arrival = Math.min(arrival, cells.get(indexes[row]));
+        }
+
+        long next = Math.max(arrival, now) + intervalNanos;
+        long wait = next - now - (long) burst * intervalNanos;
+        if (wait > 0) {
+            return wait;
+        }
+
+        for (int index : indexes) {
+            long current = cells.get(index);
+            while (current < next && !cells.compareAndSet(index, current, next)) {
+                current = cells.get(index);
+            }
+        }
+        return 0;
+    }
+
+    // MurmurHash3 x86 32-bit
+    private static int murmur3(byte[] data, int seed) {
+        int h = seed;
+        int blocks = data.length >>> 2;
+        for (int i = 0; i < blocks; i++) {
+            int offset = i << 2;
+            int k = (data[offset] & 0xFF) | (data[offset + 1] & 0xFF) << 8
+                    | (data[offset + 2] & 0xFF) << 16 | (data[offset + 3] & 0xFF) << 24;
+            h ^= mixK(k);
+            h = Integer.rotateLeft(h, 13) * 5 + 0xE6546B64;
+        }
+        int tail = blocks << 2;
+        int k = 0;
+        switch (data.length & 3) {
+            case 3:
+                k ^= (data[tail + 2] & 0xFF) << 16;
+            case 2:
+                k ^= (data[tail + 1] & 0xFF) << 8;
+            case 1:
+                k ^= data[tail] & 0xFF;
+                h ^= mixK(k);
+            default:
+        }
+        h ^= data.length;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private static int mixK(int k) {
+        k *= 0xCC9E2D51;
+        k = Integer.rotateLeft(k, 15);
+        return k * 0x1B873593;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB93FE1A85EC3L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
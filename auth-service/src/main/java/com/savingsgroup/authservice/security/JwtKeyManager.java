@@ -0,0 +1,298 @@
+package com.savingsgroup.authservice.security;
+
+import com.savingsgroup.authservice.model.JwtSigningKey;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ES256 signing keys for access tokens, rotated every {@code jwt.signing.rotation-interval}.
+ * <p>
+ * Time is cut into rotation slots and each slot has one key, stored in
+ * {@code jwt_signing_keys} under a kid derived from the slot start, so instances that race
+ * to create it agree on a single winner. The key for the next slot is created and published
+ * in the JWKS a whole slot before it signs anything, and retired keys stay published until
+ * the last token they signed has expired. Verifiers that refresh their JWKS copy more often
+ * than once per slot therefore never see an unknown kid during a normal rotation.
+ * <p>
+ * Private keys are stored encrypted with AES-GCM under {@code jwt.signing.key-encryption-key},
+ * which every instance must share. An instance that cannot load the shared key set at
+ * startup fails rather than signing with a key the other instances do not publish.
+ */
+@Component
+@Slf4j
+public class JwtKeyManager {
+
+    public static final String ALGORITHM = "ES256";
+
+    private static final String CURVE = "secp256r1";
+    private static final String KEY_WRAP = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+    // Allowance for clock skew between instances and verifiers
+    private static final Duration SKEW = Duration.ofMinutes(5);
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration rotationInterval;
+    private final Duration tokenLifetime;
+    private final SecretKey keyEncryptionKey;
+    private final SecureRandom random = new SecureRandom();
+
+    private final ReentrantLock initLock = new ReentrantLock();
+    private volatile KeySet keySet;
+
+    public JwtKeyManager(
+            MongoTemplate mongoTemplate,
+            @Value("${jwt.signing.rotation-interval:7d}") Duration rotationInterval,
+            @Value("${jwt.expiration}") long jwtExpiration,
+            @Value("${jwt.signing.key-encryption-key}") String keyEncryptionKey
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.rotationInterval = rotationInterval;
+        this.tokenLifetime = Duration.ofMillis(jwtExpiration);
+        byte[] kek = Base64.getDecoder().decode(keyEncryptionKey);
+        if (kek.length != 32) {
+            throw new IllegalArgumentException("jwt.signing.key-encryption-key must be a base64 256-bit AES key");
+        }
+        this.keyEncryptionKey = new SecretKeySpec(kek, "AES");
+    }
+
+    @PostConstruct
+    public void init() {
+        currentKeySet();
+    }
+
+    public String getSigningKeyId() {
+        return currentKeySet().signingKid();
+    }
+
+    public PrivateKey getSigningKey() {
+        return currentKeySet().signingKey();
+    }
+
+    /**
+     * Returns the public key for {@code kid}, or null if it is unknown or expired.
+     */
+    public PublicKey getVerificationKey(String kid) {
+        return currentKeySet().verificationKeys().get(kid);
+    }
+
+    /**
+     * Published keys as RFC 7517 JWK objects.
+     */
+    public List<Map<String, Object>> getJwks() {
+        return currentKeySet().jwks();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.signing.refresh-interval:60000}")
+    public void refresh() {
+        try {
+            keySet = loadKeySet();
+        } catch (Exception e) {
+            log.warn("Could not refresh JWT signing keys: {}", e.getMessage());
+        }
+    }
+
+    private KeySet currentKeySet() {
+        KeySet current = keySet;
+        if (current == null) {
+            // A lock rather than synchronized: the first load queries MongoDB, and a virtual
+            // thread blocking inside a monitor would pin its carrier
+            initLock.lock();
+            try {
+                if (keySet == null) {
+                    keySet = loadKeySet();
+                }
+                current = keySet;
+            } finally {
+                initLock.unlock();
+            }
+        }
+        return current;
+    }
+
+    private KeySet loadKeySet() {
+        Instant now = Instant.now();
+        long slot = slotOf(now);
+        Map<String, JwtSigningKey> keys = loadKeys(now);
+        boolean conflict = false;
+        for (long s = slot; s <= slot + 1; s++) {
+            String kid = kidFor(s);
+            if (!keys.containsKey(kid)) {
+                JwtSigningKey key = generate(kid, slotStart(s));
+                try {
+                    mongoTemplate.insert(key);
+                    keys.put(kid, key);
+                    log.info("Created JWT signing key {} (signs from {})", kid, key.getActivatesAt());
+                } catch (DuplicateKeyException e) {
+                    conflict = true;
+                }
+            }
+        }
+        if (conflict) {
+            // Another instance created the key first; use the stored one
+            keys = loadKeys(now);
+        }
+        return buildKeySet(keys, kidFor(slot));
+    }
+
+    private Map<String, JwtSigningKey> loadKeys(Instant now) {
+        Map<String, JwtSigningKey> keys = new LinkedHashMap<>();
+        for (JwtSigningKey key : mongoTemplate.find(Query.query(Criteria.where("expiresAt").gt(now)),
+                JwtSigningKey.class)) {
+            keys.put(key.getKid(), key);
+        }
+        return keys;
+    }
+
+    private KeySet buildKeySet(Map<String, JwtSigningKey> stored, String signingKid) {
+        JwtSigningKey signing = stored.get(signingKid);
+        if (signing == null) {
+            throw new IllegalStateException("Signing key " + signingKid + " is not stored");
+        }
+
+        Map<String, PublicKey> verificationKeys = new HashMap<>();
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        for (JwtSigningKey key : stored.values()) {
+            PublicKey publicKey = decodePublicKey(key.getPublicKey());
+            verificationKeys.put(key.getKid(), publicKey);
+            jwks.add(toJwk(key.getKid(), (ECPublicKey) publicKey));
+        }
+        return new KeySet(signing.getKid(), decodePrivateKey(decrypt(signing.getPrivateKey(), signing.getKid())),
+                Map.copyOf(verificationKeys), List.copyOf(jwks));
+    }
+
+    private JwtSigningKey generate(String kid, Instant activatesAt) {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec(CURVE));
+            KeyPair pair = generator.generateKeyPair();
+            Instant retiresAt = activatesAt.plus(rotationInterval);
+            return JwtSigningKey.builder()
+                    .kid(kid)
+                    .algorithm(ALGORITHM)
+                    .privateKey(encrypt(pair.getPrivate().getEncoded(), kid))
+                    .publicKey(Base64.getEncoder().encodeToString(pair.getPublic().getEncoded()))
+                    .activatesAt(activatesAt)
+                    .retiresAt(retiresAt)
+                    .expiresAt(retiresAt.plus(tokenLifetime).plus(SKEW))
+                    .build();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not generate " + ALGORITHM + " key pair", e);
+        }
+    }
+
+    // IV followed by ciphertext and tag, base64; the kid is bound in as associated data so a
+    // stored key cannot be moved to another document
+    private String encrypt(byte[] privateKey, String kid) throws GeneralSecurityException {
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance(KEY_WRAP);
+        cipher.init(Cipher.ENCRYPT_MODE, keyEncryptionKey, new GCMParameterSpec(TAG_BITS, iv));
+        cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+        byte[] sealed = cipher.doFinal(privateKey);
+        return Base64.getEncoder().encodeToString(ByteBuffer.allocate(iv.length + sealed.length)
+                .put(iv).put(sealed).array());
+    }
+
+    private byte[] decrypt(String stored, String kid) {
+        try {
+            byte[] bytes = Base64.getDecoder().decode(stored);
+            Cipher cipher = Cipher.getInstance(KEY_WRAP);
+            cipher.init(Cipher.DECRYPT_MODE, keyEncryptionKey, new GCMParameterSpec(TAG_BITS, bytes, 0, IV_LENGTH));
+            cipher.updateAAD(kid.getBytes(StandardCharsets.UTF_8));
+            return cipher.doFinal(bytes, IV_LENGTH, bytes.length - IV_LENGTH);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("Could not decrypt signing key " + kid
+                    + "; is jwt.signing.key-encryption-key the same on every instance?", e);
+        }
+    }
+
+    private long slotOf(Instant instant) {
+        return Math.floorDiv(instant.getEpochSecond(), rotationInterval.getSeconds());
+    }
+
+    private Instant slotStart(long slot) {
+        return Instant.ofEpochSecond(slot * rotationInterval.getSeconds());
+    }
+
+    private String kidFor(long slot) {
+        return "es256-" + slotStart(slot).getEpochSecond();
+    }
+
+    private static PrivateKey decodePrivateKey(byte[] encoded) {
+        try {
+            return KeyFactory.getInstance("EC").generatePrivate(new PKCS8EncodedKeySpec(encoded));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid stored signing key", e);
+        }
+    }
+
+    private static PublicKey decodePublicKey(String encoded) {
+        try {
+            return KeyFactory.getInstance("EC")
+                    .generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(encoded)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Invalid stored verification key", e);
+        }
+    }
+
+    private static Map<String, Object> toJwk(String kid, ECPublicKey publicKey) {
+        Map<String, Object> jwk = new LinkedHashMap<>();
+        jwk.put("kty", "EC");
+        jwk.put("crv", "P-256");
+        jwk.put("kid", kid);
+        jwk.put("use", "sig");
+        jwk.put("alg", ALGORITHM);
+        jwk.put("x", coordinate(publicKey.getW().getAffineX()));
+        jwk.put("y", coordinate(publicKey.getW().getAffineY()));
+        return jwk;
+    }
+
+    // Fixed-length 32-byte big-endian coordinate, base64url without padding
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, fixed, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+
+    private record KeySet(String signingKid, PrivateKey signingKey,
+                          Map<String, PublicKey> verificationKeys, List<Map<String, Object>> jwks) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.savingsgroup.authservice.security;
+
+/**
+ * Rate-limit state for login attempts. The default implementation keeps it in memory per
+ * instance; a shared implementation (e.g. backed by a cache cluster) can be registered as a
+ * bean to enforce limits across instances.
+ */
+public interface LoginAttemptStore {
+
+    /**
+     * Takes one token from the bucket for {@code key}, refilling one token every
+     * {@code intervalNanos} up to {@code burst} tokens.
+     *
+     * @return 0 if the attempt is allowed, otherwise the nanoseconds until it would be
+     */
+    long tryAcquire(String key, long intervalNanos, int burst);
+}
@@ -1,18 +1,24 @@
 package com.savingsgroup.authservice.service;
 
-import com.savingsgroup.authservice.client.NotificationRequest;
-import com.savingsgroup.authservice.client.NotificationServiceClient;
-import com.savingsgroup.authservice.client.UserServiceClient;
+import com.savingsgroup.authservice.config.MongoIndexInitializer;
 import com.savingsgroup.authservice.dto.*;
+import com.savingsgroup.authservice.event.UserChangedEvent;
 import com.savingsgroup.authservice.exception.CustomException;
 import com.savingsgroup.authservice.exception.ResourceNotFoundException;
-import com.savingsgroup.authservice.model.PasswordResetToken;
+import com.savingsgroup.authservice.model.AccountView;
 import com.savingsgroup.authservice.model.Role;
 import com.savingsgroup.authservice.model.User;
-import com.savingsgroup.authservice.repository.PasswordResetTokenRepository;
+import com.savingsgroup.authservice.outbox.OutboxEventTypes;
+import com.savingsgroup.authservice.outbox.OutboxService;
 import com.savingsgroup.authservice.repository.UserRepository;
-import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import com.savingsgroup.authservice.template.MessageTemplate;
+import com.savingsgroup.authservice.template.MessageTemplates;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -21,39 +27,93 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Locale;
 import java.util.Map;
-import java.util.Optional;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordResetTokenRepository tokenRepository;
+    private final PasswordResetTokenService passwordResetTokenService;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final EmailService emailService;
-    private final UserServiceClient userServiceClient;
-    private final NotificationServiceClient notificationServiceClient;
+    private final OutboxService outboxService;
+    private final UserCache userCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserReadService userReadService;
+    private final MessageTemplates messageTemplates;
+
+    @Value("${auth.registration.idempotency-window:24h}")
+    private Duration idempotencyWindow;
+
+    /**
+     * Registers a user. {@code idempotencyKey} identifies the attempt: a retry with the same
+     * key reuses the user already stored for it instead of hashing the password and inserting
+     * again, and is reported as {@link Registration#replayed()}. Only the request that stores
+     * the user gets tokens; a replay returns the account without them, since the key proves
+     * only that the caller started this registration, not that it knows the password. The
+     * client then logs in.
+     */
+    public Registration register(RegisterRequest request, String idempotencyKey) {
+        String registrationKey = hashRegistrationKey(idempotencyKey);
+        User user = findRegistration(request, registrationKey);
+        return user != null ? replayed(user) : registerNew(request, registrationKey);
+    }
 
-    @CircuitBreaker(name = "userService", fallbackMethod = "registerFallback")
-    public AuthResponse register(RegisterRequest request) {
-        // Check if username already exists
-        if (userRepository.existsByUsername(request.getUsername())) {
-            throw new CustomException("Username is already taken", HttpStatus.BAD_REQUEST);
+    public record Registration(AuthResponse response, boolean replayed) {
+    }
+
+    private Registration registerNew(RegisterRequest request, String registrationKey) {
+        // Checked before hashing; the unique indexes still settle concurrent registrations,
+        // but they are built in the background and may be missing if the build failed
+        boolean usernameTaken = userRepository.existsByUsername(request.getUsername());
+        if (usernameTaken || userRepository.existsByEmail(request.getEmail())) {
+            // A concurrent retry with the same key may have stored the user since the lookup
+            User existing = findRegistration(request, registrationKey);
+            if (existing != null) {
+                return replayed(existing);
+            }
+            throw new CustomException(usernameTaken ? "Username is already taken" : "Email is already registered",
+                    HttpStatus.BAD_REQUEST);
         }
 
-        // Check if email already exists
-        if (userRepository.existsByEmail(request.getEmail())) {
-            throw new CustomException("Email is already registered", HttpStatus.BAD_REQUEST);
+        User user;
+        try {
+            user = userRepository.insert(newUser(request, registrationKey));
+        } catch (DuplicateKeyException e) {
+            // A concurrent retry with the same key stored the user first
+            User existing = findRegistration(request, registrationKey);
+            if (existing != null) {
+                return replayed(existing);
+            }
+            if (e.getMessage() != null && e.getMessage().contains(MongoIndexInitializer.USERS_EMAIL_INDEX)) {
+                throw new CustomException("Email is already registered", HttpStatus.BAD_REQUEST);
+            }
+            throw new CustomException("Username is already taken", HttpStatus.BAD_REQUEST);
         }
+        return new Registration(completeRegistration(user, true), false);
+    }
 
-        // Create new user
-        User user = User.builder()
+    private Registration replayed(User user) {
+        return new Registration(completeRegistration(user, false), true);
+    }
+
+    private User newUser(RegisterRequest request, String registrationKey) {
+        return User.builder()
                 .firstName(request.getFirstName())
                 .lastName(request.getLastName())
                 .username(request.getUsername())
@@ -67,112 +127,89 @@ public class AuthService {
                 .accountNonExpired(true)
                 .accountNonLocked(true)
                 .credentialsNonExpired(true)
+                .registrationKey(registrationKey)
                 .build();
+    }
 
-        User savedUser = userRepository.save(user);
-
-        // Generate JWT tokens
-        String accessToken = jwtService.generateToken(savedUser);
-        String refreshToken = jwtService.generateRefreshToken(savedUser);
-
-        // Create user in user-service using Feign client
-        UserResponse userResponse = UserResponse.builder()
-                .id(savedUser.getId())
-                .username(savedUser.getUsername())
-                .email(savedUser.getEmail())
-                .firstName(savedUser.getFirstName())
-                .lastName(savedUser.getLastName())
-                .role(savedUser.getRole())
-                .phoneNumber(savedUser.getPhoneNumber())
-                .build();
+    // Side effects are enqueued under fixed keys, so completing the same user twice sends nothing twice
+    private AuthResponse completeRegistration(User user, boolean issueTokens) {
+        // Provisioning in user-service and the welcome notification are delivered by the outbox dispatcher
+        enqueueRegistrationSideEffects(user);
 
-        try {
-            userServiceClient.createUser(userResponse, "Bearer " + accessToken);
-
-            // Send welcome notification
-            NotificationRequest notificationRequest = NotificationRequest.builder()
-                    .userId(savedUser.getId())
-                    .title("Welcome to Savings Group")
-                    .message("Thank you for registering with us. Your account has been created successfully.")
-                    .type("WELCOME")
-                    .build();
-
-            notificationServiceClient.sendNotification(notificationRequest, "Bearer " + accessToken);
-        } catch (Exception e) {
-            // Handle exceptions, but don't fail registration process
-            System.out.println("Error communicating with other services: " + e.getMessage());
+        AuthResponse.AuthResponseBuilder response = AuthResponse.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .firstName(user.getFirstName())
+                .lastName(user.getLastName())
+                .role(user.getRole());
+        if (issueTokens) {
+            response.accessToken(jwtService.generateToken(user))
+                    .refreshToken(refreshTokenService.issue(user.getUsername()))
+                    .expiresIn(jwtService.getExpirationTime());
         }
-
-        return AuthResponse.builder()
-                .id(savedUser.getId())
-                .username(savedUser.getUsername())
-                .email(savedUser.getEmail())
-                .firstName(savedUser.getFirstName())
-                .lastName(savedUser.getLastName())
-                .role(savedUser.getRole())
-                .accessToken(accessToken)
-                .refreshToken(refreshToken)
-                .expiresIn(jwtService.getExpirationTime())
-                .build();
+        return response.build();
     }
 
-    // Fallback method for register
-    public AuthResponse registerFallback(RegisterRequest request, Throwable throwable) {
-        // We still register the user in our database but inform that some features might be limited
-        User user = User.builder()
-                .firstName(request.getFirstName())
-                .lastName(request.getLastName())
-                .username(request.getUsername())
-                .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
-                .phoneNumber(request.getPhoneNumber())
-                .role(Role.USER)
-                .createdAt(LocalDateTime.now())
-                .updatedAt(LocalDateTime.now())
-                .enabled(true)
-                .accountNonExpired(true)
-                .accountNonLocked(true)
-                .credentialsNonExpired(true)
-                .build();
+    /**
+     * Returns the user stored for {@code registrationKey}, or null if there is none yet.
+     */
+    private User findRegistration(RegisterRequest request, String registrationKey) {
+        User user = userRepository.findByRegistrationKey(registrationKey).orElse(null);
+        if (user == null) {
+            return null;
+        }
+        // A key only replays the registration it was created for, and only for a limited time
+        if (!user.getUsername().equalsIgnoreCase(request.getUsername())
+                || !user.getEmail().equalsIgnoreCase(request.getEmail())
+                || user.getCreatedAt().isBefore(LocalDateTime.now().minus(idempotencyWindow))) {
+            throw new CustomException("Idempotency-Key has already been used", HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+        return user;
+    }
 
-        User savedUser = userRepository.save(user);
+    // Only a digest is stored, since a client-supplied key is enough to complete its registration
+    private static String hashRegistrationKey(String idempotencyKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(idempotencyKey.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 
-        // Generate JWT tokens
-        String accessToken = jwtService.generateToken(savedUser);
-        String refreshToken = jwtService.generateRefreshToken(savedUser);
-
-        // Log the error but continue with limited functionality
-        System.out.println("User service is unavailable. Created user in auth service but not in user service. " +
-                "Reason: " + throwable.getMessage());
-
-        AuthResponse response = AuthResponse.builder()
-                .id(savedUser.getId())
-                .username(savedUser.getUsername())
-                .email(savedUser.getEmail())
-                .firstName(savedUser.getFirstName())
-                .lastName(savedUser.getLastName())
-                .role(savedUser.getRole())
-                .accessToken(accessToken)
-                .refreshToken(refreshToken)
-                .expiresIn(jwtService.getExpirationTime())
-                .build();
+    private void enqueueRegistrationSideEffects(User user) {
+        Map<String, Object> profile = new HashMap<>();
+        profile.put("id", user.getId());
+        profile.put("username", user.getUsername());
+        profile.put("email", user.getEmail());
+        profile.put("firstName", user.getFirstName());
+        profile.put("lastName", user.getLastName());
+        profile.put("role", user.getRole().name());
+        profile.put("phoneNumber", user.getPhoneNumber());
+        outboxService.enqueue(OutboxEventTypes.USER_CREATED, "user-created:" + user.getId(), user.getId(), profile);
+
+        enqueueNotification(user, "welcome:" + user.getId(), "WELCOME",
+                MessageTemplate.WELCOME_TITLE, MessageTemplate.WELCOME_MESSAGE, user.getFirstName());
+    }
 
-        return response;
+    // Rendered now, in the requester's locale, so the outbox payload is ready to send
+    private void enqueueNotification(User user, String idempotencyKey, String type,
+                                     MessageTemplate title, MessageTemplate message, String... args) {
+        Locale locale = LocaleContextHolder.getLocale();
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("username", user.getUsername());
+        payload.put("title", messageTemplates.render(title, locale));
+        payload.put("message", messageTemplates.render(message, locale, args));
+        payload.put("type", type);
+        outboxService.enqueue(OutboxEventTypes.NOTIFICATION, idempotencyKey, user.getId(), payload);
     }
 
     public AuthResponse authenticate(AuthRequest request) {
-        // Determine if input is username or email
-        String username = request.getUsernameOrEmail();
-        User user = null;
-
-        // Try to find user by username or email
-        if (username.contains("@")) {
-            user = userRepository.findByEmail(username)
-                    .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + username));
-        } else {
-            user = userRepository.findByUsername(username)
-                    .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
-        }
+        // Find user by username or email in a single lookup
+        String usernameOrEmail = request.getUsernameOrEmail();
+        User user = userCache.findByUsernameOrEmail(usernameOrEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + usernameOrEmail));
 
         // Authenticate user
         Authentication authentication = authenticationManager.authenticate(
@@ -186,7 +223,7 @@ public class AuthService {
 
         // Generate JWT tokens
         String accessToken = jwtService.generateToken(user);
-        String refreshToken = jwtService.generateRefreshToken(user);
+        String refreshToken = refreshTokenService.issue(user.getUsername());
 
         return AuthResponse.builder()
                 .id(user.getId())
@@ -202,46 +239,49 @@ public class AuthService {
     }
 
     public AuthResponse refreshToken(String refreshToken) {
-        String username = jwtService.extractUsername(refreshToken);
-        User user = userRepository.findByUsername(username)
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        String username = rotation.username();
+        AccountView account = userReadService.findAccount(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
 
-        if (!jwtService.isTokenValid(refreshToken, user)) {
+        if (!account.isEnabled() || !account.isAccountNonLocked()) {
             throw new CustomException("Invalid or expired refresh token", HttpStatus.UNAUTHORIZED);
         }
 
-        String accessToken = jwtService.generateToken(user);
+        String accessToken = jwtService.generateAccessToken(account);
 
         return AuthResponse.builder()
-                .id(user.getId())
-                .username(user.getUsername())
-                .email(user.getEmail())
-                .firstName(user.getFirstName())
-                .lastName(user.getLastName())
-                .role(user.getRole())
+                .id(account.getId())
+                .username(account.getUsername())
+                .email(account.getEmail())
+                .firstName(account.getFirstName())
+                .lastName(account.getLastName())
+                .role(account.getRole())
                 .accessToken(accessToken)
-                .refreshToken(refreshToken) // Re-use the same refresh token if it's still valid
+                .refreshToken(rotation.refreshToken())
                 .expiresIn(jwtService.getExpirationTime())
                 .build();
     }
 
     public UserResponse validateToken(String token) {
-        String username = jwtService.extractUsername(token);
-        User user = userRepository.findByUsername(username)
+        ParsedToken parsedToken = jwtService.parseToken(token);
+        String username = parsedToken.getSubject();
+        AccountView profile = userReadService.findAccount(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
 
-        if (!jwtService.isTokenValid(token, user)) {
+        if (parsedToken.isExpired() || tokenRevocationService.isRevoked(parsedToken.getId())
+                || !TokenClaims.isCurrent(parsedToken, profile)) {
             throw new CustomException("Invalid or expired token", HttpStatus.UNAUTHORIZED);
         }
 
         return UserResponse.builder()
-                .id(user.getId())
-                .username(user.getUsername())
-                .email(user.getEmail())
-                .firstName(user.getFirstName())
-                .lastName(user.getLastName())
-                .role(user.getRole())
-                .phoneNumber(user.getPhoneNumber())
+                .id(profile.getId())
+                .username(profile.getUsername())
+                .email(profile.getEmail())
+                .firstName(profile.getFirstName())
+                .lastName(profile.getLastName())
+                .role(profile.getRole())
+                .phoneNumber(profile.getPhoneNumber())
                 .build();
     }
 
@@ -250,105 +290,47 @@ public class AuthService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with email: " + email));
 
-        // Check if a token already exists for this user
-        Optional<PasswordResetToken> existingToken = tokenRepository.findByUserId(user.getId());
-
-        // If a token exists, delete it
-        existingToken.ifPresent(tokenRepository::delete);
-
-        // Generate a new token
-        String token = UUID.randomUUID().toString();
-        PasswordResetToken passwordResetToken = PasswordResetToken.builder()
-                .token(token)
-                .userId(user.getId())
-                .expiryDate(LocalDateTime.now().plusHours(1)) // Token expires in 1 hour
-                .build();
-
-        tokenRepository.save(passwordResetToken);
-
-        // Send email with reset link
-        String resetUrl = baseUrl + "/reset-password?token=" + token;
-        String emailBody = "Hello " + user.getFirstName() + ",\n\n" +
-                "You have requested to reset your password. Please use the link below to reset your password:\n\n" +
-                resetUrl + "\n\n" +
-                "This link will expire in 1 hour.\n\n" +
-                "If you did not request a password reset, please ignore this email.\n\n" +
-                "Regards,\nSavings Group Team";
+        // Queued, so the request does not wait on the SMTP server. The token is issued when the
+        // email is sent, replacing any earlier one, so the outbox never holds a usable credential.
+        String key = UUID.randomUUID().toString();
+        emailService.queuePasswordResetEmail("password-reset:" + key, user.getId(), user.getEmail(),
+                user.getFirstName(), LocaleContextHolder.getLocale(), baseUrl);
 
-        emailService.sendEmail(user.getEmail(), "Password Reset Request", emailBody);
-
-        // Try to send notification if the notification service is available
-        try {
-            NotificationRequest notificationRequest = NotificationRequest.builder()
-                    .userId(user.getId())
-                    .title("Password Reset Requested")
-                    .message("A password reset was requested for your account. If this wasn't you, please secure your account.")
-                    .type("SECURITY_ALERT")
-                    .build();
-
-            // Since we don't have a valid token here, we'll use a system token or skip this
-            // In a real application, you would have a service account token
-            notificationServiceClient.sendNotification(notificationRequest, null);
-        } catch (Exception e) {
-            // Log the error but continue
-            System.out.println("Failed to send notification: " + e.getMessage());
-        }
+        enqueueNotification(user, "password-reset-requested:" + key, "SECURITY_ALERT",
+                MessageTemplate.PASSWORD_RESET_REQUESTED_TITLE, MessageTemplate.PASSWORD_RESET_REQUESTED_MESSAGE);
     }
 
     public void resetPassword(ResetPasswordRequest request) {
-        // Find the token
-        PasswordResetToken passwordResetToken = tokenRepository.findByToken(request.getToken())
+        // Atomically removes the token, so it can be used only once
+        String userId = passwordResetTokenService.consume(request.getToken())
                 .orElseThrow(() -> new CustomException("Invalid or expired token", HttpStatus.BAD_REQUEST));
 
-        // Check if token is expired
-        if (passwordResetToken.getExpiryDate().isBefore(LocalDateTime.now())) {
-            tokenRepository.delete(passwordResetToken);
-            throw new CustomException("Token has expired", HttpStatus.BAD_REQUEST);
+        // Update password and invalidate every token issued before the reset
+        User user = userRepository.updatePassword(userId, passwordEncoder.encode(request.getNewPassword()));
+        if (user == null) {
+            throw new ResourceNotFoundException("User not found");
         }
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getUsername(), user.getEmail()));
+        refreshTokenService.revokeAll(user.getUsername());
 
-        // Find the user
-        User user = userRepository.findById(passwordResetToken.getUserId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        // Update password
-        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
-        user.setUpdatedAt(LocalDateTime.now());
-        userRepository.save(user);
-
-        // Delete the token
-        tokenRepository.delete(passwordResetToken);
-
-        // Try to send notification if the notification service is available
-        try {
-            NotificationRequest notificationRequest = NotificationRequest.builder()
-                    .userId(user.getId())
-                    .title("Password Changed Successfully")
-                    .message("Your password has been changed successfully. If you didn't make this change, please contact us immediately.")
-                    .type("SECURITY_UPDATE")
-                    .build();
-
-            // Generate a system token for internal communication
-            Map<String, Object> claims = new HashMap<>();
-            claims.put("scope", "internal");
-            String systemToken = jwtService.generateTokenWithClaims(user, claims);
-
-            notificationServiceClient.sendNotification(notificationRequest, "Bearer " + systemToken);
-        } catch (Exception e) {
-            // Log the error but continue
-            System.out.println("Failed to send notification: " + e.getMessage());
-        }
+        enqueueNotification(user, "password-changed:" + user.getId() + ":" + user.getTokenVersion(),
+                "SECURITY_UPDATE", MessageTemplate.PASSWORD_CHANGED_TITLE, MessageTemplate.PASSWORD_CHANGED_MESSAGE);
     }
 
     public void logout(String token) {
-        // In a more robust implementation, you would add the token to a blacklist
-        // or use Redis to track invalidated tokens until their expiration
+        ParsedToken parsedToken = jwtService.parseToken(token);
+        tokenRevocationService.revoke(parsedToken);
+        log.atInfo()
+                .addKeyValue("operation", "logout")
+                .log("User {} has logged out", parsedToken.getSubject());
+    }
 
-        // For simplicity, we'll just log the logout
-        String username = jwtService.extractUsername(token);
-        System.out.println("User " + username + " has logged out");
+    public boolean isTokenRevoked(String jti) {
+        return tokenRevocationService.isRevoked(jti);
+    }
 
-        // In a real implementation, you would do:
-        // tokenBlacklistService.blacklistToken(token, jwtService.getExpirationFromToken(token));
+    public RevocationFilterResponse getRevocationFilter() {
+        return tokenRevocationService.snapshot();
     }
 
     // Add this method to support generating tokens with custom claims
@@ -1,22 +1,129 @@
 package com.savingsgroup.authservice.service;
 
-import lombok.RequiredArgsConstructor;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import com.savingsgroup.authservice.exception.RetryAfterException;
+import com.savingsgroup.authservice.model.OutboxEvent;
+import com.savingsgroup.authservice.model.OutboxStatus;
+import com.savingsgroup.authservice.outbox.EmailHandler;
+import com.savingsgroup.authservice.outbox.OutboxEventTypes;
+import com.savingsgroup.authservice.outbox.OutboxService;
+import com.savingsgroup.authservice.template.MessageTemplate;
+import com.savingsgroup.authservice.template.MessageTemplates;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Queues outgoing email in the outbox; {@link EmailHandler} delivers it with retries. The
+ * queue is bounded by {@code auth.mail.max-queued}: once that many emails are waiting,
+ * new ones are refused with 503 rather than piling up behind a slow SMTP server. Emails
+ * that carry a credential are queued without it and rendered by {@link #render} when sent.
+ */
 @Service
-@RequiredArgsConstructor
+@Slf4j
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private static final String PASSWORD_RESET = "PASSWORD_RESET";
+
+    private final OutboxService outboxService;
+    private final MessageTemplates messageTemplates;
+    private final PasswordResetTokenService passwordResetTokenService;
+    private final MongoTemplate mongoTemplate;
+    private final long maxQueued;
+    // Refreshed from MongoDB periodically and bumped locally in between
+    private final AtomicLong queued = new AtomicLong();
+
+    public EmailService(
+            OutboxService outboxService,
+            MessageTemplates messageTemplates,
+            PasswordResetTokenService passwordResetTokenService,
+            MongoTemplate mongoTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${auth.mail.max-queued:10000}") long maxQueued
+    ) {
+        this.outboxService = outboxService;
+        this.messageTemplates = messageTemplates;
+        this.passwordResetTokenService = passwordResetTokenService;
+        this.mongoTemplate = mongoTemplate;
+        this.maxQueued = maxQueued;
+        meterRegistry.gauge("auth.mail.queue.depth", queued);
+    }
+
+    /**
+     * Queues an email for delivery. Queueing the same {@code idempotencyKey} twice sends it once.
+     */
+    public void queueEmail(String idempotencyKey, String to, String subject, String body) {
+        enqueue(idempotencyKey, to, Map.of("to", to, "subject", subject, "body", body));
+    }
+
+    /**
+     * Renders {@code subject} and {@code body} for {@code locale} and queues the result.
+     * {@code args} fill the body's placeholders.
+     */
+    public void queueEmail(String idempotencyKey, String to, Locale locale,
+                           MessageTemplate subject, MessageTemplate body, String... args) {
+        queueEmail(idempotencyKey, to, messageTemplates.render(subject, locale),
+                messageTemplates.render(body, locale, args));
+    }
 
-    public void sendEmail(String to, String subject, String body) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to);
-        message.setSubject(subject);
-        message.setText(body);
+    /**
+     * Queues a password reset email for the user. The token is issued when the email is sent,
+     * so it is never stored in the outbox; a resend issues a new one, replacing the last.
+     */
+    public void queuePasswordResetEmail(String idempotencyKey, String userId, String to, String firstName,
+                                        Locale locale, String baseUrl) {
+        enqueue(idempotencyKey, to, Map.of("to", to, "template", PASSWORD_RESET, "userId", userId,
+                "firstName", firstName, "locale", locale.toLanguageTag(), "baseUrl", baseUrl));
+    }
+
+    /**
+     * The subject and body of a queued email: as queued, or rendered now for one queued by
+     * {@link #queuePasswordResetEmail}.
+     */
+    public RenderedEmail render(Map<String, Object> payload) {
+        Object template = payload.get("template");
+        if (template == null) {
+            return new RenderedEmail((String) payload.get("subject"), (String) payload.get("body"));
+        }
+        if (!PASSWORD_RESET.equals(template)) {
+            throw new IllegalArgumentException("Unknown email template " + template);
+        }
+        Locale locale = Locale.forLanguageTag((String) payload.get("locale"));
+        PasswordResetTokenService.IssuedToken token = passwordResetTokenService.issue((String) payload.get("userId"));
+        String resetUrl = payload.get("baseUrl") + "/reset-password?token=" + token.token();
+        return new RenderedEmail(messageTemplates.render(MessageTemplate.PASSWORD_RESET_EMAIL_SUBJECT, locale),
+                messageTemplates.render(MessageTemplate.PASSWORD_RESET_EMAIL_BODY, locale,
+                        (String) payload.get("firstName"), resetUrl,
+                        String.valueOf(passwordResetTokenService.getValidity().toMinutes())));
+    }
+
+    private void enqueue(String idempotencyKey, String to, Map<String, Object> payload) {
+        if (queued.get() >= maxQueued) {
+            throw new RetryAfterException("Email delivery is backed up, please try again later", 60);
+        }
+        outboxService.enqueue(OutboxEventTypes.EMAIL, idempotencyKey, to, payload);
+        queued.incrementAndGet();
+    }
+
+    @Scheduled(fixedDelayString = "${auth.mail.queue-depth-interval:5000}")
+    public void refreshQueueDepth() {
+        try {
+            queued.set(mongoTemplate.count(Query.query(Criteria.where("type").is(OutboxEventTypes.EMAIL)
+                    .and("status").in(List.of(OutboxStatus.PENDING, OutboxStatus.PROCESSING))), OutboxEvent.class));
+        } catch (Exception e) {
+            log.debug("Could not count queued emails: {}", e.getMessage());
+        }
+    }
 
-        mailSender.send(message);
+    public record RenderedEmail(String subject, String body) {
     }
 }
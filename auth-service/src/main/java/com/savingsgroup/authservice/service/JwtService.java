@@ -1,34 +1,96 @@
 package com.savingsgroup.authservice.service;
 
+import com.savingsgroup.authservice.model.AuthPrincipalView;
+import com.savingsgroup.authservice.model.User;
+import com.savingsgroup.authservice.security.JwtKeyManager;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies access tokens. Tokens are signed with the current ES256 key from
+ * {@link JwtKeyManager} and carry its {@code kid}, so other services can verify them
+ * locally against the published JWKS.
+ */
 @Service
+@RequiredArgsConstructor
 public class JwtService {
 
-    @Value("${jwt.secret}")
+    private final JwtKeyManager keyManager;
+
+    @Value("${jwt.secret:}")
     private String secretKey;
 
+    // Accept HS256 tokens issued before the switch to ES256; disable once they have all expired
+    @Value("${jwt.legacy-hmac.accepted:true}")
+    private boolean acceptLegacyHmac;
+
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
-    @Value("${jwt.refresh-expiration}")
-    private long refreshExpiration;
+    // Built once at startup; the parser is immutable and thread-safe
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    public void init() {
+        Key legacyKey = acceptLegacyHmac && !secretKey.isEmpty()
+                ? Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey))
+                : null;
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return resolveVerificationKey(header, legacyKey);
+                    }
+                })
+                .build();
+    }
+
+    // jjwt rejects a key that does not match the header's alg, so a kid cannot be replayed with HS256
+    private Key resolveVerificationKey(JwsHeader<?> header, Key legacyKey) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            if (legacyKey != null && SignatureAlgorithm.HS256.getValue().equals(header.getAlgorithm())) {
+                return legacyKey;
+            }
+            throw new UnsupportedJwtException("Token has no key id");
+        }
+        Key key = keyManager.getVerificationKey(kid);
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown signing key " + kid);
+        }
+        return key;
+    }
+
+    /**
+     * Verifies the token signature once and returns subject, expiry and claims together.
+     */
+    public ParsedToken parseToken(String token) {
+        return new ParsedToken(jwtParser.parseClaimsJws(token).getBody());
+    }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return parseToken(token).getSubject();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -37,17 +99,7 @@ public class JwtService {
     }
 
     public Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return parseToken(token).getClaims();
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -55,43 +107,68 @@ public class JwtService {
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        return buildToken(extraClaims, userDetails, jwtExpiration);
+        Map<String, Object> claims = new HashMap<>(extraClaims);
+        addPrincipalClaims(claims, userDetails);
+        return buildToken(claims, userDetails.getUsername(), jwtExpiration);
     }
 
-    public String generateTokenWithClaims(UserDetails userDetails, Map<String, Object> claims) {
-        return generateToken(claims, userDetails);
+    /**
+     * Access token for a projected principal, for paths that never load the full user.
+     */
+    public String generateAccessToken(AuthPrincipalView principal) {
+        Map<String, Object> claims = new HashMap<>();
+        addPrincipalClaims(claims, principal);
+        return buildToken(claims, principal.getUsername(), jwtExpiration);
     }
 
-    public String generateRefreshToken(UserDetails userDetails) {
-        return buildToken(new HashMap<>(), userDetails, refreshExpiration);
+    public String generateTokenWithClaims(UserDetails userDetails, Map<String, Object> claims) {
+        return generateToken(claims, userDetails);
     }
 
     private String buildToken(
             Map<String, Object> extraClaims,
-            UserDetails userDetails,
+            String subject,
             long expiration
     ) {
+        long now = System.currentTimeMillis();
         return Jwts
                 .builder()
                 .setClaims(extraClaims)
-                .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setId(UUID.randomUUID().toString())
+                .setSubject(subject)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expiration))
+                .setHeaderParam(JwsHeader.KEY_ID, keyManager.getSigningKeyId())
+                .signWith(keyManager.getSigningKey(), SignatureAlgorithm.ES256)
                 .compact();
     }
 
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+    // Roles, account status and token version let filters rebuild the principal without a user lookup
+    private void addPrincipalClaims(Map<String, Object> claims, UserDetails userDetails) {
+        if (userDetails instanceof User user) {
+            addPrincipalClaims(claims, (AuthPrincipalView) user);
+            return;
+        }
+        claims.put(TokenClaims.ROLES, userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .map(authority -> authority.startsWith("ROLE_") ? authority.substring(5) : authority)
+                .toList());
+        claims.put(TokenClaims.ACCOUNT_STATUS, TokenClaims.encodeStatus(userDetails));
+    }
+
+    private void addPrincipalClaims(Map<String, Object> claims, AuthPrincipalView principal) {
+        claims.put(TokenClaims.ROLES, List.of(principal.getRole().name()));
+        claims.put(TokenClaims.VERSION, principal.getTokenVersion());
+        claims.put(TokenClaims.ACCOUNT_STATUS, TokenClaims.encodeStatus(principal.isEnabled(),
+                principal.isAccountNonExpired(), principal.isAccountNonLocked(), principal.isCredentialsNonExpired()));
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(String token, UserDetails userDetails) {
+        return isTokenValid(parseToken(token), userDetails);
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean isTokenValid(ParsedToken token, UserDetails userDetails) {
+        return userDetails.getUsername().equals(token.getSubject()) && !token.isExpired();
     }
 
     public long getExpirationTime() {
@@ -99,6 +176,6 @@ public class JwtService {
     }
 
     public Date getExpirationFromToken(String token) {
-        return extractExpiration(token);
+        return parseToken(token).getExpiration();
     }
-}
\ No newline at end of file
+}
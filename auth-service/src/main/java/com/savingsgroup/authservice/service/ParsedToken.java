@@ -0,0 +1,30 @@
+package com.savingsgroup.authservice.service;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * A JWT whose signature has already been verified. Holds the subject, expiry and
+ * full claim set so callers never need to parse the same token twice.
+ */
+@Getter
+public final class ParsedToken {
+
+    private final String id;
+    private final String subject;
+    private final Date expiration;
+    private final Claims claims;
+
+    ParsedToken(Claims claims) {
+        this.id = claims.getId();
+        this.subject = claims.getSubject();
+        this.expiration = claims.getExpiration();
+        this.claims = claims;
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+}
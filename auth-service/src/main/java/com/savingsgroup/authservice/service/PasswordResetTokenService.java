@@ -0,0 +1,85 @@
+package com.savingsgroup.authservice.service;
+
+import com.savingsgroup.authservice.model.PasswordResetToken;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Single-use password reset tokens. Each user has at most one outstanding token, replaced
+ * by an upsert on {@code userId} when a new one is requested; consuming a token is a single
+ * findAndRemove on its hash, so two concurrent resets with the same token cannot both win.
+ */
+@Service
+public class PasswordResetTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration validity;
+
+    public PasswordResetTokenService(
+            MongoTemplate mongoTemplate,
+            @Value("${auth.password-reset.token-validity:1h}") Duration validity
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.validity = validity;
+    }
+
+    public Duration getValidity() {
+        return validity;
+    }
+
+    /**
+     * Issues a new token for the user, invalidating any earlier one.
+     */
+    public IssuedToken issue(String userId) {
+        byte[] buffer = new byte[32];
+        RANDOM.nextBytes(buffer);
+        String token = ENCODER.encodeToString(buffer);
+        Instant expiresAt = Instant.now().plus(validity);
+        mongoTemplate.upsert(Query.query(Criteria.where("userId").is(userId)),
+                new Update().set("tokenHash", hash(token)).set("expiryDate", expiresAt),
+                PasswordResetToken.class);
+        return new IssuedToken(token, expiresAt);
+    }
+
+    /**
+     * Removes the token and returns the id of the user it was issued to, or empty if it is
+     * unknown, expired or already used.
+     */
+    public Optional<String> consume(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+        Query query = Query.query(Criteria.where("tokenHash").is(hash(token))
+                .and("expiryDate").gt(Instant.now()));
+        PasswordResetToken removed = mongoTemplate.findAndRemove(query, PasswordResetToken.class);
+        return Optional.ofNullable(removed).map(PasswordResetToken::getUserId);
+    }
+
+    public record IssuedToken(String token, Instant expiresAt) {
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return ENCODER.encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
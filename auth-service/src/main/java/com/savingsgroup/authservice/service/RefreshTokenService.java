@@ -0,0 +1,153 @@
+package com.savingsgroup.authservice.service;
+
+import com.savingsgroup.authservice.exception.CustomException;
+import com.savingsgroup.authservice.model.RefreshTokenFamily;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque, rotating refresh tokens of the form {@code <familyId>.<sequence>.<secret>}.
+ * A refresh is a single findAndModify on the family's {@code _id} that swaps the stored
+ * hash for the next token's, so it costs one indexed lookup and one write. A token that
+ * no longer matches but carries an older sequence has been used before, and the family
+ * is revoked.
+ */
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration ttl;
+    private final Counter rotated;
+    private final Counter reused;
+    private final Counter rejected;
+
+    public RefreshTokenService(
+            MongoTemplate mongoTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${jwt.refresh-expiration}") long refreshExpirationMillis
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.ttl = Duration.ofMillis(refreshExpirationMillis);
+        this.rotated = Counter.builder("auth.refresh.rotations").tag("result", "rotated").register(meterRegistry);
+        this.reused = Counter.builder("auth.refresh.rotations").tag("result", "reuse_detected").register(meterRegistry);
+        this.rejected = Counter.builder("auth.refresh.rotations").tag("result", "rejected").register(meterRegistry);
+    }
+
+    /**
+     * Starts a new family for a fresh login and returns its first token.
+     */
+    public String issue(String username) {
+        String familyId = randomString(16);
+        String token = format(familyId, 0);
+        mongoTemplate.insert(RefreshTokenFamily.builder()
+                .id(familyId)
+                .username(username)
+                .sequence(0)
+                .tokenHash(hash(token))
+                .expiresAt(Instant.now().plus(ttl))
+                .build());
+        return token;
+    }
+
+    /**
+     * Consumes {@code token} and returns its successor.
+     *
+     * @throws CustomException with 401 if the token is unknown, expired or was already used
+     */
+    public Rotation rotate(String token) {
+        String[] parts = token != null ? token.split("\\.") : new String[0];
+        long sequence;
+        try {
+            sequence = parts.length == 3 ? Long.parseLong(parts[1]) : -1;
+        } catch (NumberFormatException e) {
+            sequence = -1;
+        }
+        if (sequence < 0) {
+            rejected.increment();
+            throw invalid();
+        }
+
+        String familyId = parts[0];
+        String next = format(familyId, sequence + 1);
+        Instant now = Instant.now();
+        Query current = Query.query(Criteria.where("_id").is(familyId)
+                .and("tokenHash").is(hash(token))
+                .and("expiresAt").gt(now));
+        Update rotate = new Update()
+                .set("sequence", sequence + 1)
+                .set("tokenHash", hash(next))
+                .set("expiresAt", now.plus(ttl));
+
+        RefreshTokenFamily family = mongoTemplate.findAndModify(current, rotate,
+                FindAndModifyOptions.options().returnNew(false), RefreshTokenFamily.class);
+        if (family != null) {
+            rotated.increment();
+            return new Rotation(family.getUsername(), next);
+        }
+
+        RefreshTokenFamily existing = mongoTemplate.findById(familyId, RefreshTokenFamily.class);
+        if (existing != null && sequence < existing.getSequence()) {
+            mongoTemplate.remove(Query.query(Criteria.where("_id").is(familyId)), RefreshTokenFamily.class);
+            reused.increment();
+            log.warn("Refresh token reuse detected for user {}, revoked token family {}",
+                    existing.getUsername(), familyId);
+        } else {
+            rejected.increment();
+        }
+        throw invalid();
+    }
+
+    /**
+     * Revokes every refresh token family of the user, e.g. after a password change.
+     */
+    public void revokeAll(String username) {
+        mongoTemplate.remove(Query.query(Criteria.where("username").is(username)), RefreshTokenFamily.class);
+    }
+
+    public record Rotation(String username, String refreshToken) {
+    }
+
+    private static CustomException invalid() {
+        return new CustomException("Invalid or expired refresh token", HttpStatus.UNAUTHORIZED);
+    }
+
+    private static String format(String familyId, long sequence) {
+        return familyId + "." + sequence + "." + randomString(32);
+    }
+
+    private static String randomString(int bytes) {
+        byte[] buffer = new byte[bytes];
+        RANDOM.nextBytes(buffer);
+        return ENCODER.encodeToString(buffer);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return ENCODER.encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.savingsgroup.authservice.service;
+
+import com.savingsgroup.authservice.dto.TokenValidationResult;
+import com.savingsgroup.authservice.dto.UserResponse;
+import com.savingsgroup.authservice.exception.CustomException;
+import com.savingsgroup.authservice.model.AccountView;
+import com.savingsgroup.authservice.model.User;
+import com.savingsgroup.authservice.repository.UserRepository;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+/**
+ * Validates many access tokens at once for downstream services, with the checks of
+ * {@link AuthService#validateToken}. Signatures, expiry and revocation are checked per
+ * token; users are resolved from {@link UserCache} and the rest with one {@code $in} query
+ * per chunk of {@code auth.validate-tokens.chunk-size} tokens, then each token is checked
+ * against its user's account status and token version.
+ * Results for a chunk are handed out before the next chunk is read, so large batches can be
+ * streamed.
+ */
+@Service
+public class TokenBatchValidator {
+
+    private static final String INVALID_TOKEN = "Invalid or expired token";
+    private static final String USER_NOT_FOUND = "User not found";
+
+    private final JwtService jwtService;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserCache userCache;
+    private final UserRepository userRepository;
+    private final int maxBatchSize;
+    private final int chunkSize;
+    private final DistributionSummary batchSizes;
+
+    public TokenBatchValidator(
+            JwtService jwtService,
+            TokenRevocationService tokenRevocationService,
+            UserCache userCache,
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${auth.validate-tokens.max-batch-size:1000}") int maxBatchSize,
+            @Value("${auth.validate-tokens.chunk-size:500}") int chunkSize
+    ) {
+        this.jwtService = jwtService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.userCache = userCache;
+        this.userRepository = userRepository;
+        this.maxBatchSize = maxBatchSize;
+        this.chunkSize = chunkSize;
+        this.batchSizes = DistributionSummary.builder("auth.validate.batch.size")
+                .baseUnit("tokens")
+                .register(meterRegistry);
+    }
+
+    public List<TokenValidationResult> validate(List<String> tokens) {
+        checkBatchSize(tokens);
+        List<TokenValidationResult> results = new ArrayList<>(tokens.size());
+        validate(tokens, results::addAll);
+        return results;
+    }
+
+    /**
+     * Validates {@code tokens} in request order, passing the results of each chunk to
+     * {@code sink} as soon as the chunk is done. Callers check the size with
+     * {@link #checkBatchSize} first.
+     */
+    public void validate(List<String> tokens, Consumer<List<TokenValidationResult>> sink) {
+        batchSizes.record(tokens.size());
+        for (int from = 0; from < tokens.size(); from += chunkSize) {
+            sink.accept(validateChunk(tokens, from, Math.min(from + chunkSize, tokens.size())));
+        }
+    }
+
+    public void checkBatchSize(List<String> tokens) {
+        if (tokens.size() > maxBatchSize) {
+            throw new CustomException("At most " + maxBatchSize + " tokens can be validated per request",
+                    HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private List<TokenValidationResult> validateChunk(List<String> tokens, int from, int to) {
+        ParsedToken[] parsed = new ParsedToken[to - from];
+        // Token subjects are case-insensitive, like the username index they are looked up in
+        Map<String, AccountView> users = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        Set<String> missing = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+        for (int i = from; i < to; i++) {
+            ParsedToken token = parse(tokens.get(i));
+            if (token == null || token.getSubject() == null || token.isExpired()
+                    || tokenRevocationService.isRevoked(token.getId())) {
+                continue;
+            }
+            parsed[i - from] = token;
+            String username = token.getSubject();
+            if (!users.containsKey(username)) {
+                User cached = userCache.getIfPresent(username);
+                if (cached != null) {
+                    users.put(username, cached);
+                } else {
+                    missing.add(username);
+                }
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (AccountView account : userRepository.findAccountsByUsernameIn(missing)) {
+                users.put(account.getUsername(), account);
+            }
+        }
+
+        List<TokenValidationResult> results = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            ParsedToken token = parsed[i - from];
+            if (token == null) {
+                results.add(invalid(i, INVALID_TOKEN));
+                continue;
+            }
+            AccountView profile = users.get(token.getSubject());
+            if (profile == null) {
+                results.add(invalid(i, USER_NOT_FOUND));
+                continue;
+            }
+            if (!TokenClaims.isCurrent(token, profile)) {
+                results.add(invalid(i, INVALID_TOKEN));
+                continue;
+            }
+            results.add(TokenValidationResult.builder()
+                    .index(i)
+                    .valid(true)
+                    .expiresAt(token.getExpiration() != null ? token.getExpiration().toInstant() : null)
+                    .user(toUserResponse(profile))
+                    .build());
+        }
+        return results;
+    }
+
+    private ParsedToken parse(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            return jwtService.parseToken(token.startsWith("Bearer ") ? token.substring(7) : token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static TokenValidationResult invalid(int index, String error) {
+        return TokenValidationResult.builder()
+                .index(index)
+                .valid(false)
+                .error(error)
+                .build();
+    }
+
+    private static UserResponse toUserResponse(AccountView profile) {
+        return UserResponse.builder()
+                .id(profile.getId())
+                .username(profile.getUsername())
+                .email(profile.getEmail())
+                .firstName(profile.getFirstName())
+                .lastName(profile.getLastName())
+                .role(profile.getRole())
+                .phoneNumber(profile.getPhoneNumber())
+                .build();
+    }
+}
@@ -0,0 +1,65 @@
+package com.savingsgroup.authservice.service;
+
+import com.savingsgroup.authservice.model.AuthPrincipalView;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Names and encodings of the principal claims embedded in access tokens.
+ */
+public final class TokenClaims {
+
+    // Same claim name admin-service already reads
+    public static final String ROLES = "roles";
+    public static final String ACCOUNT_STATUS = "st";
+    public static final String VERSION = "ver";
+
+    private static final int ENABLED = 1;
+    private static final int ACCOUNT_NON_EXPIRED = 1 << 1;
+    private static final int ACCOUNT_NON_LOCKED = 1 << 2;
+    private static final int CREDENTIALS_NON_EXPIRED = 1 << 3;
+
+    private TokenClaims() {
+    }
+
+    public static int encodeStatus(UserDetails userDetails) {
+        return encodeStatus(userDetails.isEnabled(), userDetails.isAccountNonExpired(),
+                userDetails.isAccountNonLocked(), userDetails.isCredentialsNonExpired());
+    }
+
+    public static int encodeStatus(boolean enabled, boolean accountNonExpired,
+                                   boolean accountNonLocked, boolean credentialsNonExpired) {
+        int status = 0;
+        if (enabled) status |= ENABLED;
+        if (accountNonExpired) status |= ACCOUNT_NON_EXPIRED;
+        if (accountNonLocked) status |= ACCOUNT_NON_LOCKED;
+        if (credentialsNonExpired) status |= CREDENTIALS_NON_EXPIRED;
+        return status;
+    }
+
+    public static boolean isEnabled(int status) {
+        return (status & ENABLED) != 0;
+    }
+
+    public static boolean isAccountNonExpired(int status) {
+        return (status & ACCOUNT_NON_EXPIRED) != 0;
+    }
+
+    public static boolean isAccountNonLocked(int status) {
+        return (status & ACCOUNT_NON_LOCKED) != 0;
+    }
+
+    public static boolean isCredentialsNonExpired(int status) {
+        return (status & CREDENTIALS_NON_EXPIRED) != 0;
+    }
+
+    /**
+     * Whether {@code principal} may still use {@code token}: the account is enabled and not
+     * locked, and the token carries its current token version. Tokens without a version
+     * claim predate versioning and count as version 0.
+     */
+    public static boolean isCurrent(ParsedToken token, AuthPrincipalView principal) {
+        Number version = token.getClaims().get(VERSION, Number.class);
+        return principal.isEnabled() && principal.isAccountNonLocked()
+                && (version != null ? version.longValue() : 0) == principal.getTokenVersion();
+    }
+}
@@ -0,0 +1,166 @@
+package com.savingsgroup.authservice.service;
+
+import com.savingsgroup.authservice.dto.RevocationFilterResponse;
+import com.savingsgroup.authservice.model.RevokedToken;
+import com.savingsgroup.authservice.repository.RevokedTokenRepository;
+import com.savingsgroup.authservice.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Revocation list for access tokens, keyed by {@code jti}. The {@code revoked_tokens}
+ * collection is the source of truth; an in-memory Bloom filter rebuilt from it every
+ * {@code auth.revocation.rebuild-interval} answers the common "not revoked" case without
+ * touching MongoDB. Only filter hits are confirmed against the collection.
+ * <p>
+ * Revocations made on this instance take effect immediately; those made on other instances
+ * are picked up at the next rebuild.
+ */
+@Service
+@Slf4j
+public class TokenRevocationService {
+
+    // Catch-up window for revocations written while a rebuild was reading the collection
+    private static final Duration REBUILD_OVERLAP = Duration.ofSeconds(5);
+    private static final int MAX_CONFIRMED_VALID = 10_000;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final MongoTemplate mongoTemplate;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+
+    private final Counter negatives;
+    private final Counter revoked;
+    private final Counter falsePositives;
+
+    // Filter hits already confirmed as not revoked; cleared on every rebuild
+    private final Set<String> confirmedValid = ConcurrentHashMap.newKeySet();
+
+    private volatile BloomFilter filter;
+    private volatile Instant generatedAt;
+    private volatile boolean loaded;
+    private volatile long entries;
+
+    public TokenRevocationService(
+            RevokedTokenRepository revokedTokenRepository,
+            MongoTemplate mongoTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${auth.revocation.expected-revocations:100000}") long expectedRevocations,
+            @Value("${auth.revocation.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = BloomFilter.create(expectedRevocations, falsePositiveRate);
+        this.generatedAt = Instant.EPOCH;
+
+        this.negatives = Counter.builder("auth.revocation.checks").tag("result", "negative").register(meterRegistry);
+        this.revoked = Counter.builder("auth.revocation.checks").tag("result", "revoked").register(meterRegistry);
+        this.falsePositives = Counter.builder("auth.revocation.checks").tag("result", "false_positive")
+                .register(meterRegistry);
+        Gauge.builder("auth.revocation.bloom.expected_fpp", this, s -> s.filter.expectedFalsePositiveRate())
+                .description("False-positive rate implied by the filter's fill ratio")
+                .register(meterRegistry);
+        Gauge.builder("auth.revocation.bloom.entries", this, s -> s.entries)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns whether the token with this {@code jti} has been revoked. Tokens issued
+     * without a {@code jti} cannot be revoked individually.
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null) {
+            return false;
+        }
+        // Until the first rebuild has loaded the collection every check is confirmed in MongoDB
+        if (loaded && (!filter.mightContain(jti) || confirmedValid.contains(jti))) {
+            negatives.increment();
+            return false;
+        }
+
+        boolean isRevoked = revokedTokenRepository.existsById(jti);
+        if (isRevoked) {
+            revoked.increment();
+        } else {
+            falsePositives.increment();
+            if (confirmedValid.size() < MAX_CONFIRMED_VALID) {
+                confirmedValid.add(jti);
+            }
+        }
+        return isRevoked;
+    }
+
+    public void revoke(ParsedToken token) {
+        if (token.getId() == null) {
+            log.warn("Token for {} has no jti and cannot be revoked; it stays valid until it expires",
+                    token.getSubject());
+            return;
+        }
+        revokedTokenRepository.save(RevokedToken.builder()
+                .jti(token.getId())
+                .username(token.getSubject())
+                .expiresAt(token.getExpiration().toInstant())
+                .revokedAt(Instant.now())
+                .build());
+        filter.add(token.getId());
+        confirmedValid.remove(token.getId());
+    }
+
+    /**
+     * The current filter, for services that check revocation locally and confirm hits
+     * through this service.
+     */
+    public RevocationFilterResponse snapshot() {
+        BloomFilter current = filter;
+        return RevocationFilterResponse.builder()
+                .bits(current.toBytes())
+                .numHashes(current.getNumHashes())
+                .generatedAt(generatedAt)
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revocation.rebuild-interval:30000}")
+    public void rebuild() {
+        Instant started = Instant.now();
+        try {
+            Query live = Query.query(Criteria.where("expiresAt").gt(started));
+            live.fields().include("_id");
+
+            long count = mongoTemplate.count(live, RevokedToken.class);
+            BloomFilter rebuilt = BloomFilter.create(Math.max(expectedRevocations, count * 2), falsePositiveRate);
+            try (Stream<RevokedToken> tokens = mongoTemplate.stream(live, RevokedToken.class)) {
+                tokens.forEach(token -> rebuilt.add(token.getJti()));
+            }
+
+            // Revocations written while the collection was being read, added before the swap
+            // so that none of them is reported as valid by the new filter
+            Query recent = Query.query(Criteria.where("revokedAt").gte(started.minus(REBUILD_OVERLAP)));
+            recent.fields().include("_id");
+            mongoTemplate.find(recent, RevokedToken.class).forEach(token -> rebuilt.add(token.getJti()));
+
+            filter = rebuilt;
+            generatedAt = started;
+            entries = count;
+            confirmedValid.clear();
+            loaded = true;
+        } catch (Exception e) {
+            log.warn("Could not rebuild token revocation filter: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.savingsgroup.authservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.savingsgroup.authservice.event.UserChangedEvent;
+import com.savingsgroup.authservice.model.User;
+import com.savingsgroup.authservice.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Size- and TTL-bounded cache in front of the username and email lookups on
+ * {@link UserRepository}. Cached users are shared instances and must be treated as
+ * read-only; anything that modifies a user loads it from the repository and publishes
+ * a {@link UserChangedEvent} afterwards.
+ */
+@Service
+public class UserCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, User> usersByUsername;
+    private final Cache<String, String> usernamesByEmail;
+
+    public UserCache(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${auth.user-cache.ttl:5m}") Duration ttl,
+            @Value("${auth.user-cache.max-size:10000}") long maxSize
+    ) {
+        this.userRepository = userRepository;
+        this.usersByUsername = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        this.usernamesByEmail = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, usersByUsername, "users.byUsername");
+        CaffeineCacheMetrics.monitor(meterRegistry, usernamesByEmail, "users.byEmail");
+    }
+
+    public Optional<User> findByUsername(String username) {
+        return Optional.ofNullable(usersByUsername.get(username,
+                key -> userRepository.findByUsername(key).orElse(null)));
+    }
+
+    /**
+     * Returns the cached user without loading it on a miss.
+     */
+    public User getIfPresent(String username) {
+        return usersByUsername.getIfPresent(username);
+    }
+
+    public Optional<User> findByEmail(String email) {
+        String username = usernamesByEmail.getIfPresent(email);
+        if (username != null) {
+            Optional<User> cached = findByUsername(username);
+            if (cached.isPresent() && email.equals(cached.get().getEmail())) {
+                return cached;
+            }
+        }
+
+        Optional<User> user = userRepository.findByEmail(email);
+        user.ifPresent(this::put);
+        return user;
+    }
+
+    /**
+     * Login lookup: resolves a username or email with at most one query. A username match
+     * wins if the identifier is one user's username and another's email.
+     */
+    public Optional<User> findByUsernameOrEmail(String usernameOrEmail) {
+        User cached = usersByUsername.getIfPresent(usernameOrEmail);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        String username = usernamesByEmail.getIfPresent(usernameOrEmail);
+        if (username != null) {
+            cached = usersByUsername.getIfPresent(username);
+            if (cached != null && usernameOrEmail.equals(cached.getEmail())) {
+                return Optional.of(cached);
+            }
+        }
+
+        List<User> matches = userRepository.findByUsernameOrEmail(usernameOrEmail);
+        Optional<User> user = matches.stream()
+                .filter(match -> match.getUsername().equalsIgnoreCase(usernameOrEmail))
+                .findFirst()
+                .or(() -> matches.stream().findFirst());
+        user.ifPresent(this::put);
+        return user;
+    }
+
+    public void put(User user) {
+        usersByUsername.put(user.getUsername(), user);
+        usernamesByEmail.put(user.getEmail(), user.getUsername());
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        usersByUsername.invalidate(event.getUsername());
+        usernamesByEmail.invalidate(event.getEmail());
+    }
+}
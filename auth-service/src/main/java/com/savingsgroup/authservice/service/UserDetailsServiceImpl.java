@@ -1,36 +1,64 @@
 package com.savingsgroup.authservice.service;
 
+import com.savingsgroup.authservice.event.UserChangedEvent;
 import com.savingsgroup.authservice.exception.ResourceNotFoundException;
 import com.savingsgroup.authservice.model.User;
-import com.savingsgroup.authservice.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
+import java.time.LocalDateTime;
 
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+@Slf4j
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
-    private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+        // The cached User is returned as-is: it shares its role's authority list and is not a
+        // CredentialsContainer, so authentication never erases the cached password hash
+        return userCache.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with username: " + username));
+    }
+
+    /**
+     * Called by the authentication provider after a successful login whose stored hash uses an
+     * outdated algorithm or cost. The update only applies if the hash is still the one that was
+     * verified, so a concurrent password reset is never overwritten.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        Query query = Query.query(Criteria.where("username").is(user.getUsername())
+                .and("password").is(user.getPassword()));
+        Update update = new Update()
+                .set("password", newPassword)
+                .set("updatedAt", LocalDateTime.now());
+
+        if (mongoTemplate.updateFirst(query, update, User.class).getModifiedCount() == 0) {
+            return user;
+        }
+        log.info("Upgraded password hash for user {}", user.getUsername());
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                user.isEnabled(),
-                user.isAccountNonExpired(),
-                user.isCredentialsNonExpired(),
-                user.isAccountNonLocked(),
-                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
-        );
+        if (user instanceof User modelUser) {
+            eventPublisher.publishEvent(
+                    new UserChangedEvent(modelUser.getId(), modelUser.getUsername(), modelUser.getEmail()));
+        }
+        return userCache.findByUsername(user.getUsername())
+                .<UserDetails>map(upgraded -> upgraded)
+                .orElse(user);
     }
-}
\ No newline at end of file
+}
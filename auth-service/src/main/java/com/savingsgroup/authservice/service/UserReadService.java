@@ -0,0 +1,33 @@
+package com.savingsgroup.authservice.service;
+
+import com.savingsgroup.authservice.model.AccountView;
+import com.savingsgroup.authservice.model.AuthPrincipalView;
+import com.savingsgroup.authservice.model.User;
+import com.savingsgroup.authservice.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+
+/**
+ * Read model for paths that only need part of a user. A user already in {@link UserCache}
+ * is returned as-is; otherwise only the view's fields are fetched and decoded. Projected
+ * results are not cached, so the cache only ever holds complete users.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserReadService {
+
+    private final UserCache userCache;
+    private final UserRepository userRepository;
+
+    public Optional<AuthPrincipalView> findAuthPrincipal(String username) {
+        User cached = userCache.getIfPresent(username);
+        return cached != null ? Optional.of(cached) : userRepository.findAuthPrincipalByUsername(username);
+    }
+
+    public Optional<AccountView> findAccount(String username) {
+        User cached = userCache.getIfPresent(username);
+        return cached != null ? Optional.of(cached) : userRepository.findAccountByUsername(username);
+    }
+}
@@ -0,0 +1,62 @@
+package com.savingsgroup.authservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.savingsgroup.authservice.event.UserChangedEvent;
+import com.savingsgroup.authservice.model.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Tracks the current token version per user so stateless authentication can reject
+ * tokens minted before a password reset or status change. Versions are cached briefly,
+ * so at most one projected read per user per TTL reaches MongoDB.
+ */
+@Service
+public class UserVersionService {
+
+    private final MongoTemplate mongoTemplate;
+    private final Cache<String, Long> versions;
+
+    public UserVersionService(
+            MongoTemplate mongoTemplate,
+            @Value("${jwt.stateless.version-ttl:30s}") Duration ttl,
+            @Value("${jwt.stateless.version-cache-size:100000}") long maxSize
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.versions = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    public boolean isCurrent(String username, long tokenVersion) {
+        Long current = versions.get(key(username), this::loadVersion);
+        return current != null && current == tokenVersion;
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        versions.invalidate(key(event.getUsername()));
+    }
+
+    protected Long loadVersion(String username) {
+        Query query = Query.query(Criteria.where("username").is(username));
+        query.fields().include("tokenVersion").exclude("_id");
+        // Read through the entity so the query carries the case-insensitive collation of the username index
+        User user = mongoTemplate.findOne(query, User.class);
+        return user != null ? user.getTokenVersion() : null;
+    }
+
+    // Usernames match case-insensitively, so every spelling shares one cache entry
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,75 @@
+package com.savingsgroup.authservice.template;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A template parsed once into alternating literal and argument segments. Rendering only
+ * interleaves the segments with the arguments and allocates the result once, at its exact
+ * size; there is no parsing or lookup per call.
+ * <p>
+ * Placeholders are written {@code {name}}; a doubled opening brace renders a literal one.
+ */
+final class CompiledTemplate {
+
+    // literals[i] precedes argument arguments[i]; the last literal has no argument after it
+    private final String[] literals;
+    private final int[] arguments;
+
+    private CompiledTemplate(String[] literals, int[] arguments) {
+        this.literals = literals;
+        this.arguments = arguments;
+    }
+
+    static CompiledTemplate compile(String source, List<String> parameters) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> arguments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            if (c != '{') {
+                literal.append(c);
+                i++;
+                continue;
+            }
+            if (source.startsWith("{{", i)) {
+                literal.append('{');
+                i += 2;
+                continue;
+            }
+            int end = source.indexOf('}', i);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at " + i + " in: " + source);
+            }
+            String name = source.substring(i + 1, end);
+            int index = parameters.indexOf(name);
+            if (index < 0) {
+                throw new IllegalArgumentException("Unknown placeholder {" + name + "}, expected one of " + parameters);
+            }
+            literals.add(literal.toString());
+            arguments.add(index);
+            literal.setLength(0);
+            i = end + 1;
+        }
+        literals.add(literal.toString());
+        return new CompiledTemplate(literals.toArray(String[]::new),
+                arguments.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    String render(String[] args) {
+        String[] parts = new String[literals.length + arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            parts[2 * i] = literals[i];
+            parts[2 * i + 1] = valueOf(args, arguments[i]);
+        }
+        parts[parts.length - 1] = literals[arguments.length];
+        // String.join sizes the result from the parts and fills it once, without an intermediate buffer
+        return String.join("", parts);
+    }
+
+    private static String valueOf(String[] args, int index) {
+        String value = index < args.length ? args[index] : null;
+        return value != null ? value : "";
+    }
+}
@@ -0,0 +1,36 @@
+package com.savingsgroup.authservice.template;
+
+import java.util.List;
+
+/**
+ * User-facing texts rendered from {@code templates/messages*.properties}, with the
+ * placeholders each one may use. Arguments are passed to {@link MessageTemplates#render}
+ * in the order listed here.
+ */
+public enum MessageTemplate {
+
+    WELCOME_TITLE("welcome.title"),
+    WELCOME_MESSAGE("welcome.message", "firstName"),
+    PASSWORD_RESET_EMAIL_SUBJECT("password-reset.email.subject"),
+    PASSWORD_RESET_EMAIL_BODY("password-reset.email.body", "firstName", "resetUrl", "expiryMinutes"),
+    PASSWORD_RESET_REQUESTED_TITLE("password-reset.requested.title"),
+    PASSWORD_RESET_REQUESTED_MESSAGE("password-reset.requested.message"),
+    PASSWORD_CHANGED_TITLE("password-changed.title"),
+    PASSWORD_CHANGED_MESSAGE("password-changed.message");
+
+    private final String key;
+    private final List<String> parameters;
+
+    MessageTemplate(String key, String... parameters) {
+        this.key = key;
+        this.parameters = List.of(parameters);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public List<String> getParameters() {
+        return parameters;
+    }
+}
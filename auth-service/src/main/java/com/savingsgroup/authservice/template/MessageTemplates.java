@@ -0,0 +1,121 @@
+package com.savingsgroup.authservice.template;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Renders {@link MessageTemplate}s. Every {@code templates/messages[_locale].properties}
+ * bundle is compiled at startup, so a missing key or an unknown placeholder fails the
+ * application on boot rather than a request. A locale falls back to its language and then
+ * to the default bundle, per template. Requested locales are first mapped to the nearest
+ * loaded bundle, so only one merged set of templates is kept per bundle.
+ */
+@Component
+public class MessageTemplates {
+
+    private static final String BUNDLE_NAME = "messages";
+
+    private final Map<Locale, CompiledTemplate[]> bundles;
+    private final Map<Locale, CompiledTemplate[]> resolved = new HashMap<>();
+
+    public MessageTemplates(@Value("${auth.templates.location:classpath*:templates/}") String location)
+            throws IOException {
+        Map<Locale, Properties> sources = load(location);
+        if (!sources.containsKey(Locale.ROOT)) {
+            throw new IllegalStateException("No default " + BUNDLE_NAME + ".properties under " + location);
+        }
+        this.bundles = new HashMap<>();
+        sources.forEach((locale, properties) -> bundles.put(locale, compile(locale, properties)));
+        for (MessageTemplate template : MessageTemplate.values()) {
+            if (bundles.get(Locale.ROOT)[template.ordinal()] == null) {
+                throw new IllegalStateException("Default bundle has no template " + template.getKey());
+            }
+        }
+        bundles.keySet().forEach(locale -> resolved.put(locale, merge(locale)));
+    }
+
+    public String render(MessageTemplate template, Locale locale, String... args) {
+        return resolve(locale)[template.ordinal()].render(args);
+    }
+
+    private CompiledTemplate[] resolve(Locale locale) {
+        return resolved.get(nearestBundle(locale));
+    }
+
+    // Only language and country select a bundle, so arbitrary Accept-Language values cannot grow the cache
+    private Locale nearestBundle(Locale locale) {
+        if (locale == null || locale.getLanguage().isEmpty()) {
+            return Locale.ROOT;
+        }
+        Locale country = Locale.of(locale.getLanguage(), locale.getCountry());
+        if (bundles.containsKey(country)) {
+            return country;
+        }
+        Locale language = Locale.of(locale.getLanguage());
+        return bundles.containsKey(language) ? language : Locale.ROOT;
+    }
+
+    // Most specific bundle first for each template: language_COUNTRY, language, default
+    private CompiledTemplate[] merge(Locale locale) {
+        CompiledTemplate[] merged = bundles.get(Locale.ROOT).clone();
+        overlay(merged, bundles.get(Locale.of(locale.getLanguage())));
+        overlay(merged, bundles.get(Locale.of(locale.getLanguage(), locale.getCountry())));
+        return merged;
+    }
+
+    private static void overlay(CompiledTemplate[] target, CompiledTemplate[] bundle) {
+        if (bundle == null) {
+            return;
+        }
+        for (int i = 0; i < target.length; i++) {
+            if (bundle[i] != null) {
+                target[i] = bundle[i];
+            }
+        }
+    }
+
+    private static CompiledTemplate[] compile(Locale locale, Properties properties) {
+        CompiledTemplate[] compiled = new CompiledTemplate[MessageTemplate.values().length];
+        for (MessageTemplate template : MessageTemplate.values()) {
+            String source = properties.getProperty(template.getKey());
+            if (source == null) {
+                continue;
+            }
+            try {
+                compiled[template.ordinal()] = CompiledTemplate.compile(source, template.getParameters());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("Invalid template " + template.getKey() + " for locale '"
+                        + locale + "': " + e.getMessage(), e);
+            }
+        }
+        return compiled;
+    }
+
+    private static Map<Locale, Properties> load(String location) throws IOException {
+        Map<Locale, Properties> sources = new HashMap<>();
+        Resource[] resources = new PathMatchingResourcePatternResolver()
+                .getResources(location + BUNDLE_NAME + "*.properties");
+        for (Resource resource : resources) {
+            String filename = resource.getFilename();
+            String suffix = filename.substring(BUNDLE_NAME.length(), filename.length() - ".properties".length());
+            Locale locale = suffix.isEmpty() ? Locale.ROOT : Locale.forLanguageTag(suffix.substring(1).replace('_', '-'));
+            Properties properties = new Properties();
+            try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+            sources.put(locale, properties);
+        }
+        return sources;
+    }
+}
@@ -0,0 +1,115 @@
+package com.savingsgroup.authservice.util;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings. Adds are lock-free and may run concurrently with
+ * lookups. The hashing scheme is part of the wire format served to other services (see
+ * {@link #toBytes()}), so it must not change without updating their copies.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long numBits;
+    private final long bitMask;
+    private final int numHashes;
+
+    private BloomFilter(AtomicLongArray words, int numHashes) {
+        this.words = words;
+        this.numBits = (long) words.length() * Long.SIZE;
+        this.bitMask = numBits - 1;
+        this.numHashes = numHashes;
+    }
+
+    /**
+     * Sizes a filter for {@code expectedInsertions} entries at the given false-positive rate.
+     * The bit count is rounded up to a power of two so probes can be masked instead of divided.
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        int wordCount = Integer.highestOneBit((int) Math.max(1, (bits + Long.SIZE - 1) / Long.SIZE) * 2 - 1);
+        return new BloomFilter(new AtomicLongArray(wordCount), hashes);
+    }
+
+    public static BloomFilter fromBytes(byte[] bits, int numHashes) {
+        if (Integer.bitCount(bits.length) != 1 || bits.length < Long.BYTES) {
+            throw new IllegalArgumentException("Filter size must be a power-of-two number of words");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bits);
+        AtomicLongArray words = new AtomicLongArray(bits.length / Long.BYTES);
+        for (int i = 0; i < words.length(); i++) {
+            words.set(i, buffer.getLong());
+        }
+        return new BloomFilter(words, numHashes);
+    }
+
+    public void add(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < numHashes; i++) {
+            long bit = (hash1 + i * hash2) & bitMask;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < numHashes; i++) {
+            long bit = (hash1 + i * hash2) & bitMask;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * False-positive probability implied by the current fill ratio.
+     */
+    public double expectedFalsePositiveRate() {
+        long set = 0;
+        for (int i = 0; i < words.length(); i++) {
+            set += Long.bitCount(words.get(i));
+        }
+        return Math.pow((double) set / numBits, numHashes);
+    }
+
+    public int getNumHashes() {
+        return numHashes;
+    }
+
+    public long getNumBits() {
+        return numBits;
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(words.length() * Long.BYTES);
+        for (int i = 0; i < words.length(); i++) {
+            buffer.putLong(words.get(i));
+        }
+        return buffer.array();
+    }
+
+    // String.hashCode is specified by the JLS, so every JVM computes the same probes
+    private static long hash(String value) {
+        return mix(value.hashCode() * 0x9E3779B97F4A7C15L + value.length());
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB93FE1A85EC3L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
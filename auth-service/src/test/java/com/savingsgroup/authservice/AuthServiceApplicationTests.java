@@ -1,11 +1,18 @@
 package com.savingsgroup.authservice;
 
+import com.savingsgroup.authservice.security.JwtKeyManager;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
 
-@SpringBootTest
+// No MongoDB in the test environment: fail scheduled jobs fast so they don't hold up context shutdown,
+// and stand in for the key manager, which refuses to start without the shared signing keys
+@SpringBootTest(properties = "spring.data.mongodb.uri=mongodb://localhost:27017/savingsgroup?serverSelectionTimeoutMS=1000")
 class AuthServiceApplicationTests {
 
+	@MockBean
+	private JwtKeyManager jwtKeyManager;
+
 	@Test
 	void contextLoads() {
 	}
@@ -0,0 +1,123 @@
+package com.savingsgroup.authservice.benchmark;
+
+import com.savingsgroup.authservice.filter.JwtAuthFilter;
+import com.savingsgroup.authservice.model.AuthPrincipalView;
+import com.savingsgroup.authservice.model.Role;
+import com.savingsgroup.authservice.model.User;
+import com.savingsgroup.authservice.model.RevokedToken;
+import com.savingsgroup.authservice.repository.RevokedTokenRepository;
+import com.savingsgroup.authservice.security.JwtKeyManager;
+import com.savingsgroup.authservice.service.JwtService;
+import com.savingsgroup.authservice.service.TokenRevocationService;
+import com.savingsgroup.authservice.service.UserReadService;
+import com.savingsgroup.authservice.service.UserVersionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Authenticated requests per second through {@link JwtAuthFilter} in lookup mode (one user
+ * read per request) versus stateless mode (principal rebuilt from claims). The user store is
+ * an in-memory stub that parks for {@code lookupMicros} to stand in for a MongoDB round trip.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    @Param({"false", "true"})
+    public boolean stateless;
+
+    @Param({"500"})
+    public long lookupMicros;
+
+    private JwtAuthFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = new JwtService(
+                new JwtKeyManager(mock(MongoTemplate.class), Duration.ofDays(7), 86_400_000L,
+                        "MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY="));
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86_400_000L);
+        jwtService.init();
+
+        User user = User.builder()
+                .username("benchmark-user")
+                .password("")
+                .role(Role.USER)
+                .enabled(true)
+                .accountNonExpired(true)
+                .accountNonLocked(true)
+                .credentialsNonExpired(true)
+                .build();
+
+        UserReadService userReadService = new UserReadService(null, null) {
+            @Override
+            public Optional<AuthPrincipalView> findAuthPrincipal(String username) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(lookupMicros));
+                return Optional.of(user);
+            }
+        };
+        UserVersionService versionService = new UserVersionService(null, Duration.ofSeconds(30), 1000) {
+            @Override
+            protected Long loadVersion(String username) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(lookupMicros));
+                return 0L;
+            }
+        };
+
+        // Empty revocation list, loaded so checks are answered by the Bloom filter alone
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.stream(any(Query.class), eq(RevokedToken.class))).thenAnswer(invocation -> Stream.empty());
+        TokenRevocationService revocationService = new TokenRevocationService(
+                mock(RevokedTokenRepository.class), mongoTemplate, new SimpleMeterRegistry(), 100_000, 0.01);
+        revocationService.rebuild();
+
+        filter = new JwtAuthFilter(jwtService, userReadService, versionService, revocationService);
+        ReflectionTestUtils.setField(filter, "statelessPrincipal", stateless);
+        authorization = "Bearer " + jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Object authenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/profile");
+        request.addHeader("Authorization", authorization);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthFilterBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
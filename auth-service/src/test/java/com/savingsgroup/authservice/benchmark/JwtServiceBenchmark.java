@@ -0,0 +1,87 @@
+package com.savingsgroup.authservice.benchmark;
+
+import com.savingsgroup.authservice.security.JwtKeyManager;
+import com.savingsgroup.authservice.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Token parses per second: the previous per-call key/parser construction versus the
+ * cached key and parser in {@link JwtService}.
+ *
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ *           -Dexec.mainClass=com.savingsgroup.authservice.benchmark.JwtServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtKeyManager keyManager;
+    private JwtService jwtService;
+    private UserDetails user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        keyManager = new JwtKeyManager(mock(MongoTemplate.class), Duration.ofDays(7), 86_400_000L,
+                "MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=");
+        jwtService = new JwtService(keyManager);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86_400_000L);
+        jwtService.init();
+
+        user = new User("benchmark-user", "", Collections.emptyList());
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean legacyValidate() {
+        // Mirrors the old isTokenValid: two parses, each looking up the key and building a parser
+        Claims subjectClaims = Jwts.parserBuilder()
+                .setSigningKey(keyManager.getVerificationKey(keyManager.getSigningKeyId()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+        Claims expiryClaims = Jwts.parserBuilder()
+                .setSigningKey(keyManager.getVerificationKey(keyManager.getSigningKeyId()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+        return subjectClaims.getSubject().equals(user.getUsername())
+                && !expiryClaims.getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public boolean cachedValidate() {
+        return jwtService.isTokenValid(token, user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,112 @@
+package com.savingsgroup.authservice.benchmark;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import net.logstash.logback.appender.LoggingEventAsyncDisruptorAppender;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.MDC;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Latency of a request that logs one structured warning, as every failed outbox delivery
+ * does while notification-service is down, when stdout drains slowly: writing through a
+ * synchronous console appender versus the ring-buffer appender configured in
+ * logback-spring.xml. The sink parks for {@link #SINK_WRITE_NANOS} per write, standing in
+ * for a container log pipe that cannot keep up.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingBenchmark {
+
+    private static final long SINK_WRITE_NANOS = 50_000;
+
+    @Param({"sync", "async"})
+    public String appender;
+
+    private LoggerContext context;
+    private Logger logger;
+    private long attempt;
+
+    @Setup
+    public void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(MDC.getMDCAdapter());
+
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(context);
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> console = new OutputStreamAppender<>();
+        console.setContext(context);
+        console.setEncoder(encoder);
+        console.setOutputStream(new SlowOutputStream());
+        console.start();
+
+        Appender<ILoggingEvent> root = console;
+        if ("async".equals(appender)) {
+            LoggingEventAsyncDisruptorAppender async = new LoggingEventAsyncDisruptorAppender();
+            async.setContext(context);
+            async.setRingBufferSize(8192);
+            async.addAppender(console);
+            async.start();
+            root = async;
+        }
+
+        logger = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        logger.detachAndStopAllAppenders();
+        logger.addAppender(root);
+        MDC.put("requestId", "5d1f2c2e-8a4b-4c55-9d43-0f6a1b7e9c21");
+        MDC.put("endpoint", "POST /api/auth/register");
+    }
+
+    @TearDown
+    public void tearDown() {
+        MDC.clear();
+        context.stop();
+    }
+
+    @Benchmark
+    public long failedNotification() {
+        long current = ++attempt;
+        logger.atWarn()
+                .addKeyValue("userId", "65f1c0a2e4b0a93d7c1e2f44")
+                .addKeyValue("operation", "NOTIFICATION")
+                .addKeyValue("attempt", current)
+                .log("Outbox event {} failed, attempt {}: {}", "welcome:65f1c0a2e4b0a93d7c1e2f44", current,
+                        "Notification service is currently unavailable. Notification not sent.");
+        return current;
+    }
+
+    private static final class SlowOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) {
+            LockSupport.parkNanos(SINK_WRITE_NANOS);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            LockSupport.parkNanos(SINK_WRITE_NANOS);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LoggingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,98 @@
+package com.savingsgroup.authservice.benchmark;
+
+import com.savingsgroup.authservice.exception.RetryAfterException;
+import com.savingsgroup.authservice.security.CountMinLoginAttemptStore;
+import com.savingsgroup.authservice.security.LoginRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Simulated credential stuffing: attackers hammer logins for random accounts from one IP
+ * while legitimate users log in from their own addresses. Each admitted login holds one of
+ * two "hashing" permits for {@link #HASHING}. Prints legitimate login latency with and
+ * without {@link LoginRateLimiter} in front, and how many attacker attempts reached hashing.
+ * <p>
+ * Run with {@code main}; not part of the unit test suite.
+ */
+public class LoginStuffingLoadRunner {
+
+    private static final int ATTACKERS = 48;
+    private static final int LEGITIMATE_LOGINS = 100;
+    private static final int HASHING_PERMITS = 2;
+    private static final Duration HASHING = Duration.ofMillis(5);
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("%-10s %9s %9s %17s%n", "limiter", "p50 ms", "p99 ms", "attackers hashed");
+        print("off", run(null));
+        print("on", run(new LoginRateLimiter(new CountMinLoginAttemptStore(65536, 4), new SimpleMeterRegistry(),
+                Duration.ofSeconds(2), 20, Duration.ofSeconds(30), 5)));
+    }
+
+    private static void print(String mode, Result result) {
+        System.out.printf("%-10s %9d %9d %17d%n", mode, result.percentileMillis(0.50),
+                result.percentileMillis(0.99), result.attackersHashed());
+    }
+
+    private static Result run(LoginRateLimiter limiter) throws Exception {
+        Semaphore hashingPool = new Semaphore(HASHING_PERMITS, true);
+        AtomicBoolean attacking = new AtomicBoolean(true);
+        AtomicLong attackersHashed = new AtomicLong();
+        long[] latencies = new long[LEGITIMATE_LOGINS];
+
+        try (ExecutorService attackers = Executors.newFixedThreadPool(ATTACKERS)) {
+            for (int i = 0; i < ATTACKERS; i++) {
+                attackers.submit(() -> {
+                    while (attacking.get()) {
+                        try {
+                            login(limiter, hashingPool, "203.0.113.7", UUID.randomUUID().toString());
+                            attackersHashed.incrementAndGet();
+                        } catch (RetryAfterException e) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    return null;
+                });
+            }
+
+            Thread.sleep(50);
+            for (int i = 0; i < latencies.length; i++) {
+                long start = System.nanoTime();
+                login(limiter, hashingPool, "192.168.1." + (i % 250), "member" + i);
+                latencies[i] = System.nanoTime() - start;
+            }
+            attacking.set(false);
+        }
+
+        Arrays.sort(latencies);
+        return new Result(latencies, attackersHashed.get());
+    }
+
+    private static void login(LoginRateLimiter limiter, Semaphore hashingPool, String ip, String username)
+            throws InterruptedException {
+        if (limiter != null) {
+            limiter.checkLogin(ip, username);
+        }
+        hashingPool.acquire();
+        try {
+            Thread.sleep(HASHING);
+        } finally {
+            hashingPool.release();
+        }
+    }
+
+    private record Result(long[] sortedLatencies, long attackersHashed) {
+        long percentileMillis(double percentile) {
+            int index = (int) Math.ceil(sortedLatencies.length * percentile) - 1;
+            return TimeUnit.NANOSECONDS.toMillis(sortedLatencies[index]);
+        }
+    }
+}
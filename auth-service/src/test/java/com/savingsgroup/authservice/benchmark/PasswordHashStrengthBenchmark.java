@@ -0,0 +1,61 @@
+package com.savingsgroup.authservice.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded hash and verify latency per algorithm and cost. Run it on the deployment
+ * CPU and pick the strongest {@code security.password.*} setting whose verify p99 stays
+ * within the login budget (e.g. 50 ms). Settings are {@code algorithm:cost}, where cost is
+ * the BCrypt log rounds or the PBKDF2 iteration count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class PasswordHashStrengthBenchmark {
+
+    @Param({"bcrypt:10", "bcrypt:11", "bcrypt:12", "bcrypt:13", "pbkdf2:310000", "pbkdf2:600000"})
+    public String setting;
+
+    private PasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        String[] parts = setting.split(":");
+        int cost = Integer.parseInt(parts[1]);
+        encoder = switch (parts[0]) {
+            case "bcrypt" -> new BCryptPasswordEncoder(cost);
+            case "pbkdf2" -> new Pbkdf2PasswordEncoder("", 16, cost,
+                    Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+            default -> throw new IllegalArgumentException("Unknown algorithm " + parts[0]);
+        };
+        hash = encoder.encode("Password1");
+    }
+
+    @Benchmark
+    public String hash() {
+        return encoder.encode("Password1");
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return encoder.matches("Password1", hash);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PasswordHashStrengthBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,79 @@
+package com.savingsgroup.authservice.benchmark;
+
+import com.savingsgroup.authservice.exception.RetryAfterException;
+import com.savingsgroup.authservice.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login password checks per second for each BCrypt cost factor, run from more client
+ * threads than there are cores. Divide the score by the core count for logins per second
+ * per core. {@code bounded=true} goes through {@link BoundedPasswordEncoder}, where excess
+ * load is rejected instead of queueing on request threads; rejections are counted
+ * separately via {@link Rejections}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Threads(32)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    @Param({"8", "10", "12"})
+    public int strength;
+
+    @Param({"false", "true"})
+    public boolean bounded;
+
+    private PasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+        encoder = bounded
+                ? new BoundedPasswordEncoder(bcrypt, Runtime.getRuntime().availableProcessors(), 64,
+                        Duration.ofSeconds(5), Duration.ofSeconds(1), new SimpleMeterRegistry())
+                : bcrypt;
+        hash = bcrypt.encode("Password1");
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        if (encoder instanceof BoundedPasswordEncoder boundedEncoder) {
+            boundedEncoder.destroy();
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Rejections {
+        public long rejected;
+    }
+
+    @Benchmark
+    public boolean login(Rejections rejections) {
+        try {
+            return encoder.matches("Password1", hash);
+        } catch (RetryAfterException e) {
+            rejections.rejected++;
+            return false;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PasswordHashingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,99 @@
+package com.savingsgroup.authservice.benchmark;
+
+import com.savingsgroup.authservice.model.RefreshTokenFamily;
+import com.savingsgroup.authservice.service.RefreshTokenService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Throughput of {@link RefreshTokenService#rotate} with every thread refreshing its own
+ * session. MongoDB is replaced by a mock over an in-memory map that applies the rotation's
+ * findAndModify atomically, so the figure covers hashing, token formatting and query
+ * building rather than database round trips.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class RefreshTokenRotationBenchmark {
+
+    private final Map<String, RefreshTokenFamily> families = new ConcurrentHashMap<>();
+    private RefreshTokenService refreshTokenService;
+
+    @State(Scope.Thread)
+    public static class Session {
+        private String token;
+
+        @Setup
+        public void setUp(RefreshTokenRotationBenchmark benchmark) {
+            token = benchmark.refreshTokenService.issue(UUID.randomUUID().toString());
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.insert(any(RefreshTokenFamily.class))).thenAnswer(invocation -> {
+            RefreshTokenFamily family = invocation.getArgument(0);
+            families.put(family.getId(), family);
+            return family;
+        });
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(RefreshTokenFamily.class))).thenAnswer(invocation -> {
+            Document query = invocation.<Query>getArgument(0).getQueryObject();
+            Document set = (Document) invocation.<Update>getArgument(1).getUpdateObject().get("$set");
+            AtomicReference<RefreshTokenFamily> before = new AtomicReference<>();
+            families.computeIfPresent(query.getString("_id"), (id, family) -> {
+                if (!family.getTokenHash().equals(query.get("tokenHash"))) {
+                    return family;
+                }
+                before.set(family);
+                return RefreshTokenFamily.builder()
+                        .id(id)
+                        .username(family.getUsername())
+                        .sequence(set.get("sequence", Long.class))
+                        .tokenHash(set.getString("tokenHash"))
+                        .expiresAt(set.get("expiresAt", Instant.class))
+                        .build();
+            });
+            return before.get();
+        });
+
+        refreshTokenService = new RefreshTokenService(mongoTemplate, new SimpleMeterRegistry(), 604_800_000L);
+    }
+
+    @Benchmark
+    public String rotate(Session session) {
+        session.token = refreshTokenService.rotate(session.token).refreshToken();
+        return session.token;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RefreshTokenRotationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,84 @@
+package com.savingsgroup.authservice.benchmark;
+
+import com.savingsgroup.authservice.model.RevokedToken;
+import com.savingsgroup.authservice.repository.RevokedTokenRepository;
+import com.savingsgroup.authservice.service.TokenRevocationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Cost of {@link TokenRevocationService#isRevoked} for tokens that were never revoked, with
+ * the filter loaded from {@code revocations} live entries. MongoDB is replaced by mocks; a
+ * confirmation lookup only happens on a Bloom filter false positive.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RevocationCheckBenchmark {
+
+    private static final int PROBES = 4096;
+
+    @Param({"0", "100000"})
+    public int revocations;
+
+    private TokenRevocationService revocationService;
+    private String[] probes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Set<String> revoked = new HashSet<>();
+        for (int i = 0; i < revocations; i++) {
+            revoked.add(UUID.randomUUID().toString());
+        }
+
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.count(any(Query.class), eq(RevokedToken.class))).thenReturn((long) revoked.size());
+        when(mongoTemplate.stream(any(Query.class), eq(RevokedToken.class))).thenAnswer(invocation ->
+                revoked.stream().map(jti -> RevokedToken.builder().jti(jti).build()));
+        RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+        when(repository.existsById(anyString())).thenAnswer(invocation -> revoked.contains(invocation.<String>getArgument(0)));
+
+        revocationService = new TokenRevocationService(repository, mongoTemplate, new SimpleMeterRegistry(), 100_000, 0.01);
+        revocationService.rebuild();
+
+        List<String> valid = new ArrayList<>(PROBES);
+        for (int i = 0; i < PROBES; i++) {
+            valid.add(UUID.randomUUID().toString());
+        }
+        probes = valid.toArray(String[]::new);
+    }
+
+    @Benchmark
+    public boolean notRevoked() {
+        String jti = probes[next++ & (PROBES - 1)];
+        return revocationService.isRevoked(jti);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RevocationCheckBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,132 @@
+package com.savingsgroup.authservice.benchmark;
+
+import com.savingsgroup.authservice.dto.TokenValidationResult;
+import com.savingsgroup.authservice.model.AccountView;
+import com.savingsgroup.authservice.model.RevokedToken;
+import com.savingsgroup.authservice.model.Role;
+import com.savingsgroup.authservice.model.User;
+import com.savingsgroup.authservice.repository.RevokedTokenRepository;
+import com.savingsgroup.authservice.repository.UserRepository;
+import com.savingsgroup.authservice.security.JwtKeyManager;
+import com.savingsgroup.authservice.service.JwtService;
+import com.savingsgroup.authservice.service.TokenBatchValidator;
+import com.savingsgroup.authservice.service.TokenRevocationService;
+import com.savingsgroup.authservice.service.UserCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tokens validated per second when a caller checks {@code tokens} tokens one request at a
+ * time (one user lookup each, as with {@code GET /validate-token}) versus in one
+ * {@code POST /validate-tokens} batch. The user store is a stub that parks for
+ * {@code lookupMicros} per query to stand in for a MongoDB round trip; the user cache is
+ * left cold so every lookup reaches it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenValidationBenchmark {
+
+    private static final int TOKENS = 1000;
+    private static final int USERS = 200;
+
+    @Param({"500"})
+    public long lookupMicros;
+
+    private TokenBatchValidator validator;
+    private List<String> tokens;
+
+    @Setup
+    public void setUp() {
+        JwtService jwtService = new JwtService(
+                new JwtKeyManager(mock(MongoTemplate.class), Duration.ofDays(7), 86_400_000L,
+                        "MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY="));
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86_400_000L);
+        jwtService.init();
+
+        Map<String, User> users = new HashMap<>();
+        tokens = new ArrayList<>(TOKENS);
+        for (int i = 0; i < TOKENS; i++) {
+            User user = users.computeIfAbsent("member-" + (i % USERS), username -> User.builder()
+                    .id(username)
+                    .username(username)
+                    .email(username + "@example.org")
+                    .password("")
+                    .role(Role.USER)
+                    .enabled(true)
+                    .accountNonExpired(true)
+                    .accountNonLocked(true)
+                    .credentialsNonExpired(true)
+                    .build());
+            tokens.add(jwtService.generateToken(user));
+        }
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findAccountsByUsernameIn(anyCollection())).thenAnswer(invocation -> {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(lookupMicros));
+            Collection<String> usernames = invocation.getArgument(0);
+            List<AccountView> found = new ArrayList<>(usernames.size());
+            for (String username : usernames) {
+                found.add(users.get(username));
+            }
+            return found;
+        });
+        // Cache that never holds anything, so each validation pays for its lookup
+        UserCache userCache = new UserCache(userRepository, new SimpleMeterRegistry(), Duration.ZERO, 0);
+
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.stream(any(Query.class), eq(RevokedToken.class))).thenAnswer(invocation -> Stream.empty());
+        TokenRevocationService revocationService = new TokenRevocationService(
+                mock(RevokedTokenRepository.class), mongoTemplate, new SimpleMeterRegistry(), 100_000, 0.01);
+        revocationService.rebuild();
+
+        validator = new TokenBatchValidator(jwtService, revocationService, userCache, userRepository,
+                new SimpleMeterRegistry(), 10_000, 500);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TOKENS)
+    public void single(Blackhole blackhole) {
+        for (String token : tokens) {
+            blackhole.consume(validator.validate(List.of(token)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TOKENS)
+    public List<TokenValidationResult> batch() {
+        return validator.validate(tokens);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TokenValidationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
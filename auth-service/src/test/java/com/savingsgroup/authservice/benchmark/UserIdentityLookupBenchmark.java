@@ -0,0 +1,149 @@
+package com.savingsgroup.authservice.benchmark;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.savingsgroup.authservice.config.MongoIndexInitializer;
+import com.savingsgroup.authservice.model.Role;
+import com.savingsgroup.authservice.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registration and login latency against a {@code users} collection of {@code userCount}
+ * documents, comparing the old access pattern (exists pre-checks, username-or-email branch)
+ * with the unique-index insert and single {@code $or} lookup, with and without the indexes.
+ * <p>
+ * Needs a disposable MongoDB: {@code -Dbenchmark.mongo.uri=mongodb://localhost:27017}. The
+ * {@code auth_benchmark} database is seeded on first run, which takes a while at 1M users.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class UserIdentityLookupBenchmark {
+
+    private static final int BATCH = 10_000;
+
+    @Param({"1000000"})
+    public int userCount;
+
+    @Param({"false", "true"})
+    public boolean indexed;
+
+    private MongoClient client;
+    private MongoTemplate mongoTemplate;
+    private final AtomicLong registrations = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        client = MongoClients.create(System.getProperty("benchmark.mongo.uri", "mongodb://localhost:27017"));
+        mongoTemplate = new MongoTemplate(client, "auth_benchmark");
+
+        long existing = mongoTemplate.count(Query.query(Criteria.where("username").regex("^seed")), User.class);
+        if (existing != userCount) {
+            mongoTemplate.dropCollection(User.class);
+            for (int start = 0; start < userCount; start += BATCH) {
+                List<User> batch = new ArrayList<>(BATCH);
+                for (int i = start; i < Math.min(start + BATCH, userCount); i++) {
+                    batch.add(user("seed" + i));
+                }
+                mongoTemplate.insert(batch, User.class);
+            }
+        }
+
+        mongoTemplate.indexOps(User.class).dropAllIndexes();
+        if (indexed) {
+            Collation caseInsensitive = Collation.of("en").strength(Collation.ComparisonLevel.secondary());
+            mongoTemplate.indexOps(User.class).ensureIndex(new Index("username", Sort.Direction.ASC).unique()
+                    .collation(caseInsensitive).named(MongoIndexInitializer.USERS_USERNAME_INDEX));
+            mongoTemplate.indexOps(User.class).ensureIndex(new Index("email", Sort.Direction.ASC).unique()
+                    .collation(caseInsensitive).named(MongoIndexInitializer.USERS_EMAIL_INDEX));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        mongoTemplate.remove(Query.query(Criteria.where("username").regex("^bench")), User.class);
+        client.close();
+    }
+
+    @Benchmark
+    public Object registerWithPreChecks() {
+        User user = user("bench" + registrations.incrementAndGet() + "-" + indexed);
+        if (mongoTemplate.exists(Query.query(Criteria.where("username").is(user.getUsername())), User.class)
+                || mongoTemplate.exists(Query.query(Criteria.where("email").is(user.getEmail())), User.class)) {
+            return null;
+        }
+        return mongoTemplate.insert(user);
+    }
+
+    @Benchmark
+    public Object registerWithUniqueIndex() {
+        User user = user("bench" + registrations.incrementAndGet() + "-" + indexed);
+        try {
+            return mongoTemplate.insert(user);
+        } catch (DuplicateKeyException e) {
+            return null;
+        }
+    }
+
+    @Benchmark
+    public Object loginBranching() {
+        String identifier = randomIdentifier();
+        String field = identifier.contains("@") ? "email" : "username";
+        return mongoTemplate.findOne(Query.query(Criteria.where(field).is(identifier)), User.class);
+    }
+
+    @Benchmark
+    public Object loginSingleQuery() {
+        String identifier = randomIdentifier();
+        return mongoTemplate.find(Query.query(new Criteria().orOperator(
+                Criteria.where("username").is(identifier),
+                Criteria.where("email").is(identifier))), User.class);
+    }
+
+    private String randomIdentifier() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String username = "seed" + random.nextInt(userCount);
+        return random.nextBoolean() ? username : username + "@example.com";
+    }
+
+    private static User user(String username) {
+        return User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .firstName("Bench")
+                .lastName("User")
+                .password("{bcrypt}$2a$10$7EqJtq98hPqEX7fNZaFWoO5uGfj4D6iBTEwX3d5b8aOKnRk2aQSe2")
+                .phoneNumber("+2348000000000")
+                .role(Role.USER)
+                .enabled(true)
+                .accountNonExpired(true)
+                .accountNonLocked(true)
+                .credentialsNonExpired(true)
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserIdentityLookupBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,114 @@
+package com.savingsgroup.authservice.benchmark;
+
+import com.savingsgroup.authservice.model.AuthPrincipalView;
+import com.savingsgroup.authservice.model.Role;
+import com.savingsgroup.authservice.model.User;
+import org.bson.BsonBinaryReader;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.projection.EntityProjection;
+import org.springframework.data.projection.EntityProjectionIntrospector;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side cost of reading one user: decoding the BSON reply and mapping it, for the full
+ * {@link User} entity versus the {@link AuthPrincipalView} projection used by the JWT filter.
+ * Run with {@code -prof gc} to see bytes allocated per read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserReadBenchmark {
+
+    private static final DecoderContext DECODER_CONTEXT = DecoderContext.builder().build();
+
+    private final DocumentCodec codec = new DocumentCodec();
+    private MappingMongoConverter converter;
+    private EntityProjection<AuthPrincipalView, User> principalProjection;
+    private byte[] fullBson;
+    private byte[] projectedBson;
+
+    @Setup
+    public void setUp() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        // Same introspection MongoTemplate applies to interface projections returned by repositories
+        principalProjection = EntityProjectionIntrospector.create(converter.getProjectionFactory(),
+                        EntityProjectionIntrospector.ProjectionPredicate.typeHierarchy(), mappingContext)
+                .introspect(AuthPrincipalView.class, User.class);
+
+        Document full = new Document("_id", new ObjectId())
+                .append("firstName", "Amina")
+                .append("lastName", "Wanjiru")
+                .append("username", "amina.wanjiru")
+                .append("email", "amina.wanjiru@example.org")
+                .append("password", "{bcrypt}$2a$12$Zq4m1c0bYV1b3X4nJ7oQXeW2yVQ0mJz9aU6p1kq6c5o2s8d3f4g5h")
+                .append("phoneNumber", "+254712345678")
+                .append("role", Role.USER.name())
+                .append("createdAt", new Date(System.currentTimeMillis() - 365L * 86_400_000L))
+                .append("updatedAt", new Date())
+                .append("enabled", true)
+                .append("accountNonExpired", true)
+                .append("accountNonLocked", true)
+                .append("credentialsNonExpired", true)
+                .append("tokenVersion", 3L)
+                .append("_class", User.class.getName());
+        fullBson = toBson(full);
+
+        // The same fields the repository projection asks the server for
+        Document projected = new Document();
+        for (String field : Arrays.asList("_id", "username", "role", "tokenVersion", "enabled",
+                "accountNonExpired", "accountNonLocked", "credentialsNonExpired")) {
+            projected.append(field, full.get(field));
+        }
+        projectedBson = toBson(projected);
+    }
+
+    @Benchmark
+    public User fullEntity() {
+        return converter.read(User.class, decode(fullBson));
+    }
+
+    @Benchmark
+    public AuthPrincipalView principalProjection() {
+        return converter.project(principalProjection, decode(projectedBson));
+    }
+
+    private Document decode(byte[] bson) {
+        return codec.decode(new BsonBinaryReader(ByteBuffer.wrap(bson)), DECODER_CONTEXT);
+    }
+
+    private byte[] toBson(Document document) {
+        RawBsonDocument raw = new RawBsonDocument(document, codec);
+        return Arrays.copyOf(raw.getByteBuffer().array(), raw.getByteBuffer().remaining());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserReadBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
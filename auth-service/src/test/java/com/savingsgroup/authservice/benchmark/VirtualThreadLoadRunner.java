@@ -0,0 +1,196 @@
+package com.savingsgroup.authservice.benchmark;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.http11.AbstractHttp11Protocol;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load test of Tomcat with its default 200-thread pool versus the virtual-thread
+ * executor that {@code spring.threads.virtual.enabled} installs. Each request blocks for
+ * {@link #BLOCKING_IO}, standing in for the MongoDB and Feign calls the services wait on.
+ * Prints throughput and latency percentiles per mode and client count.
+ * <p>
+ * The server runs in a child JVM so that client and server sockets each stay within the
+ * per-process file limit. Run with {@code main}; not part of the unit test suite.
+ */
+public class VirtualThreadLoadRunner {
+
+    private static final Duration BLOCKING_IO = Duration.ofMillis(200);
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(15);
+    private static final int[] CLIENTS = {1_000, 2_500, 5_000, 10_000};
+    // Above the largest client count so that neither mode is capped by Tomcat's 8192 default
+    private static final int MAX_CONNECTIONS = 12_000;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2 && "server".equals(args[0])) {
+            serve("virtual".equals(args[1]));
+            return;
+        }
+
+        List<String> rows = new ArrayList<>();
+        for (String mode : List.of("platform", "virtual")) {
+            Process server = startServer(mode);
+            try {
+                int port = awaitPort(server);
+                for (int clients : CLIENTS) {
+                    Result result = run(port, clients);
+                    String row = String.format("%-9s %7d %10.0f %9.0f %9.0f %9.0f %8d", mode, clients,
+                            result.throughput(), result.percentile(0.50), result.percentile(0.99),
+                            result.percentile(0.999), result.errors());
+                    System.out.println(row);
+                    rows.add(row);
+                }
+            } finally {
+                server.destroy();
+                server.waitFor();
+            }
+        }
+
+        System.out.printf("%nBlocking I/O per request: %d ms%n", BLOCKING_IO.toMillis());
+        System.out.printf("%-9s %7s %10s %9s %9s %9s %8s%n",
+                "mode", "clients", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "errors");
+        rows.forEach(System.out::println);
+    }
+
+    private static void serve(boolean virtualThreads) throws Exception {
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory(0);
+        factory.addConnectorCustomizers((Connector connector) -> {
+            AbstractHttp11Protocol<?> protocol = (AbstractHttp11Protocol<?>) connector.getProtocolHandler();
+            protocol.setMaxConnections(MAX_CONNECTIONS);
+            protocol.setAcceptCount(1_000);
+        });
+        if (virtualThreads) {
+            // What Spring Boot's virtual-thread customizer configures
+            factory.addProtocolHandlerCustomizers(protocol ->
+                    protocol.setExecutor(new VirtualThreadExecutor("tomcat-handler-")));
+        }
+        WebServer server = factory.getWebServer(context -> context.addServlet("work", new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                try {
+                    Thread.sleep(BLOCKING_IO);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                response.getWriter().write("ok");
+            }
+        }).addMapping("/work"));
+        server.start();
+        System.out.println("PORT=" + server.getPort());
+        System.out.flush();
+        Thread.currentThread().join();
+    }
+
+    private static Process startServer(String mode) throws IOException {
+        String java = ProcessHandle.current().info().command().orElse("java");
+        // Every in-flight request holds a Tomcat processor and its buffers, so with virtual
+        // threads the heap, not the thread pool, bounds concurrency
+        return new ProcessBuilder(java, "-Xmx3g", "-cp", System.getProperty("java.class.path"),
+                VirtualThreadLoadRunner.class.getName(), "server", mode)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+    }
+
+    private static int awaitPort(Process server) throws IOException {
+        BufferedReader output = new BufferedReader(new InputStreamReader(server.getInputStream()));
+        String line;
+        while ((line = output.readLine()) != null) {
+            if (line.startsWith("PORT=")) {
+                return Integer.parseInt(line.substring(5));
+            }
+        }
+        throw new IllegalStateException("Server exited before listening");
+    }
+
+    private static Result run(int port, int clients) throws InterruptedException {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/work"))
+                .timeout(Duration.ofSeconds(60))
+                .build();
+
+        long start = System.nanoTime();
+        long measureFrom = start + WARMUP.toNanos();
+        long measureUntil = measureFrom + MEASUREMENT.toNanos();
+        long[][] latencies = new long[clients][];
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(clients);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                int client = i;
+                executor.submit(() -> {
+                    long[] samples = new long[256];
+                    int count = 0;
+                    try {
+                        long now;
+                        while ((now = System.nanoTime()) < measureUntil) {
+                            try {
+                                httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            } catch (IOException e) {
+                                long end = System.nanoTime();
+                                if (end >= measureFrom && end <= measureUntil) {
+                                    errors.incrementAndGet();
+                                }
+                                continue;
+                            }
+                            // Requests completing in the window count, even if queued since before it
+                            long end = System.nanoTime();
+                            if (end >= measureFrom && end <= measureUntil) {
+                                if (count == samples.length) {
+                                    samples = Arrays.copyOf(samples, count * 2);
+                                }
+                                samples[count++] = end - now;
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        latencies[client] = Arrays.copyOf(samples, count);
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        }
+        httpClient.close();
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(all, all.length / (MEASUREMENT.toNanos() / 1e9), errors.get());
+    }
+
+    private record Result(long[] sortedLatencies, double throughput, long errors) {
+
+        double percentile(double p) {
+            if (sortedLatencies.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(p * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
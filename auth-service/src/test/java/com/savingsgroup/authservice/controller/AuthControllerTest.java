@@ -0,0 +1,93 @@
+package com.savingsgroup.authservice.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.savingsgroup.authservice.dto.AuthResponse;
+import com.savingsgroup.authservice.dto.RegisterRequest;
+import com.savingsgroup.authservice.filter.JwtAuthFilter;
+import com.savingsgroup.authservice.security.JwtKeyManager;
+import com.savingsgroup.authservice.security.LoginRateLimiter;
+import com.savingsgroup.authservice.service.AuthService;
+import com.savingsgroup.authservice.service.JwtService;
+import com.savingsgroup.authservice.service.TokenBatchValidator;
+import com.savingsgroup.authservice.service.TokenRevocationService;
+import com.savingsgroup.authservice.service.UserReadService;
+import com.savingsgroup.authservice.service.UserVersionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * HTTP contract of the endpoints, with the JWT filter in front of the controller.
+ */
+class AuthControllerTest {
+
+    private static final String REFRESH_TOKEN = "family123.4.c2VjcmV0";
+
+    private final AuthService authService = mock(AuthService.class);
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        JwtService jwtService = new JwtService(
+                new JwtKeyManager(mock(MongoTemplate.class), Duration.ofDays(7), 86_400_000L,
+                        "MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY="));
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86_400_000L);
+        jwtService.init();
+        JwtAuthFilter jwtAuthFilter = new JwtAuthFilter(jwtService, mock(UserReadService.class),
+                mock(UserVersionService.class), mock(TokenRevocationService.class));
+
+        AuthController controller = new AuthController(authService, mock(LoginRateLimiter.class),
+                mock(TokenBatchValidator.class), new ObjectMapper());
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).addFilters(jwtAuthFilter).build();
+    }
+
+    @Test
+    void registrationReplayIsMarkedAndCarriesNoTokens() throws Exception {
+        String body = "{\"firstName\":\"Ada\",\"lastName\":\"Obi\",\"username\":\"ada\","
+                + "\"email\":\"ada@example.com\",\"password\":\"Password1\",\"phoneNumber\":\"+2348000000001\"}";
+        when(authService.register(any(RegisterRequest.class), eq("key-1"))).thenReturn(
+                new AuthService.Registration(AuthResponse.builder().id("u1").accessToken("access").build(), false),
+                new AuthService.Registration(AuthResponse.builder().id("u1").build(), true));
+
+        mockMvc.perform(post("/api/auth/register").header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andExpect(jsonPath("$.accessToken").value("access"));
+        mockMvc.perform(post("/api/auth/register").header("Idempotency-Key", "key-1")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.id").value("u1"))
+                .andExpect(jsonPath("$.accessToken").doesNotExist());
+    }
+
+    // Refresh tokens are opaque, not JWTs, yet clients send them as a Bearer token
+    @Test
+    void refreshesWithOpaqueBearerToken() throws Exception {
+        when(authService.refreshToken(REFRESH_TOKEN)).thenReturn(AuthResponse.builder()
+                .username("alice")
+                .accessToken("access")
+                .refreshToken("family123.5.bmV4dA")
+                .build());
+
+        mockMvc.perform(post("/api/auth/refresh-token")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + REFRESH_TOKEN))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.refreshToken").value("family123.5.bmV4dA"));
+        verify(authService).refreshToken(REFRESH_TOKEN);
+    }
+}
@@ -0,0 +1,144 @@
+package com.savingsgroup.authservice.outbox;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.savingsgroup.authservice.mail.SmtpConnectionPool;
+import com.savingsgroup.authservice.model.OutboxEvent;
+import com.savingsgroup.authservice.model.PasswordResetToken;
+import com.savingsgroup.authservice.service.EmailService;
+import com.savingsgroup.authservice.service.PasswordResetTokenService;
+import com.savingsgroup.authservice.template.MessageTemplates;
+import org.bson.Document;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class EmailHandlerTest {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP.dynamicPort());
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final List<OutboxEvent> queued = new ArrayList<>();
+    private SmtpConnectionPool connectionPool;
+    private EmailService emailService;
+    private EmailHandler handler;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // Stand-in for the outbox collection: keeps each event as it would be stored
+        OutboxService outboxService = mock(OutboxService.class);
+        doAnswer(invocation -> queued.add(OutboxEvent.builder()
+                .id("queued-" + queued.size())
+                .type(invocation.getArgument(0))
+                .idempotencyKey(invocation.getArgument(1))
+                .aggregateId(invocation.getArgument(2))
+                .payload(invocation.getArgument(3))
+                .build()))
+                .when(outboxService).enqueue(anyString(), anyString(), anyString(), any());
+        emailService = new EmailService(outboxService, new MessageTemplates("classpath*:templates/"),
+                new PasswordResetTokenService(mongoTemplate, Duration.ofHours(1)), mongoTemplate, meterRegistry, 100);
+
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(greenMail.getSmtp().getPort());
+
+        connectionPool = new SmtpConnectionPool(mailSender, meterRegistry, 2, Duration.ofMinutes(1), Duration.ofSeconds(5));
+        handler = new EmailHandler(connectionPool, mailSender, emailService, meterRegistry, "no-reply@savingsgroup.test", 25);
+    }
+
+    @AfterEach
+    void tearDown() {
+        handler.shutdown();
+        connectionPool.destroy();
+    }
+
+    @Test
+    void sendsBatchesOverReusedConnections() throws Exception {
+        assertTrue(handler.handleBatch(emails(0, 60)).isEmpty());
+        assertTrue(handler.handleBatch(emails(60, 10)).isEmpty());
+
+        assertEquals(70, greenMail.getReceivedMessages().length);
+        // Three runs of up to 25 share the pool's two connections, and the second batch reuses them
+        assertTrue(openedConnections() <= 2, "opened " + openedConnections() + " connections");
+    }
+
+    @Test
+    void malformedAddressFailsOnlyThatEmail() {
+        List<OutboxEvent> batch = emails(0, 5);
+        batch.get(2).getPayload().put("to", "not an address");
+
+        Map<String, Exception> failures = handler.handleBatch(batch);
+
+        assertEquals(List.of("email-2"), List.copyOf(failures.keySet()));
+        assertEquals(4, greenMail.getReceivedMessages().length);
+        assertEquals(1, openedConnections());
+    }
+
+    @Test
+    void passwordResetTokenIsIssuedWhenSentAndNeverQueued() throws Exception {
+        emailService.queuePasswordResetEmail("password-reset:user-1:1", "user-1", "member@savingsgroup.test",
+                "Amina", Locale.ENGLISH, "https://app.savingsgroup.test");
+
+        assertTrue(handler.handleBatch(queued).isEmpty());
+
+        String body = (String) greenMail.getReceivedMessages()[0].getContent();
+        Matcher link = Pattern.compile("https://app\\.savingsgroup\\.test/reset-password\\?token=([A-Za-z0-9_-]+)")
+                .matcher(body);
+        assertTrue(link.find(), body);
+        String token = link.group(1);
+        assertFalse(queued.toString().contains(token), "outbox holds the reset token");
+
+        // The only write is the hash of the token that was sent
+        ArgumentCaptor<Update> issued = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(any(Query.class), issued.capture(), eq(PasswordResetToken.class));
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        assertEquals(Base64.getUrlEncoder().withoutPadding().encodeToString(hash),
+                ((Document) issued.getValue().getUpdateObject().get("$set")).getString("tokenHash"));
+    }
+
+    private double openedConnections() {
+        return meterRegistry.get("auth.mail.connections.opened").counter().count();
+    }
+
+    private static List<OutboxEvent> emails(int from, int count) {
+        List<OutboxEvent> events = new ArrayList<>();
+        for (int i = from; i < from + count; i++) {
+            events.add(OutboxEvent.builder()
+                    .id("email-" + i)
+                    .type(OutboxEventTypes.EMAIL)
+                    .payload(new HashMap<>(Map.of(
+                            "to", "member" + i + "@savingsgroup.test",
+                            "subject", "Password Reset Request",
+                            "body", "Reset link " + i)))
+                    .build());
+        }
+        return events;
+    }
+}
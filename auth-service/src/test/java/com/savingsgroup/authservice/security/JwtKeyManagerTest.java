@@ -0,0 +1,57 @@
+package com.savingsgroup.authservice.security;
+
+import com.savingsgroup.authservice.model.JwtSigningKey;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class JwtKeyManagerTest {
+
+    private static final String KEK = "MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=";
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+
+    @Test
+    void storedPrivateKeysAreEncryptedUnderTheConfiguredKey() {
+        JwtKeyManager keyManager = new JwtKeyManager(mongoTemplate, Duration.ofDays(7), 86_400_000L, KEK);
+        keyManager.init();
+
+        ArgumentCaptor<JwtSigningKey> inserted = ArgumentCaptor.forClass(JwtSigningKey.class);
+        verify(mongoTemplate, times(2)).insert(inserted.capture());
+        JwtSigningKey stored = inserted.getAllValues().get(0);
+        assertNotEquals(Base64.getEncoder().encodeToString(keyManager.getSigningKey().getEncoded()),
+                stored.getPrivateKey());
+
+        // Another instance with the same key encryption key signs with the stored key
+        MongoTemplate other = mock(MongoTemplate.class);
+        when(other.find(any(Query.class), eq(JwtSigningKey.class))).thenReturn(inserted.getAllValues());
+        JwtKeyManager peer = new JwtKeyManager(other, Duration.ofDays(7), 86_400_000L, KEK);
+        peer.init();
+        assertEquals(keyManager.getSigningKeyId(), peer.getSigningKeyId());
+        assertEquals(keyManager.getSigningKey(), peer.getSigningKey());
+
+        JwtKeyManager wrongKey = new JwtKeyManager(other, Duration.ofDays(7), 86_400_000L,
+                Base64.getEncoder().encodeToString(new byte[32]));
+        assertThrows(IllegalStateException.class, wrongKey::init);
+    }
+
+    @Test
+    void refusesToStartWithoutTheSharedKeys() {
+        when(mongoTemplate.find(any(Query.class), eq(JwtSigningKey.class)))
+                .thenThrow(new DataAccessResourceFailureException("unreachable"));
+        JwtKeyManager keyManager = new JwtKeyManager(mongoTemplate, Duration.ofDays(7), 86_400_000L, KEK);
+
+        assertThrows(DataAccessResourceFailureException.class, keyManager::init);
+        verify(mongoTemplate, never()).insert(any(JwtSigningKey.class));
+    }
+}
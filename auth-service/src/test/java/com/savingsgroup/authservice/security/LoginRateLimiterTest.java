@@ -0,0 +1,80 @@
+package com.savingsgroup.authservice.security;
+
+import com.savingsgroup.authservice.exception.RetryAfterException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    @Test
+    void bucketAllowsBurstThenRefills() throws Exception {
+        LoginAttemptStore store = new CountMinLoginAttemptStore(1024, 4);
+        long interval = TimeUnit.MILLISECONDS.toNanos(50);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, store.tryAcquire("ip:10.0.0.1", interval, 3));
+        }
+        assertTrue(store.tryAcquire("ip:10.0.0.1", interval, 3) > 0);
+        assertEquals(0, store.tryAcquire("ip:10.0.0.2", interval, 3), "other keys keep their own bucket");
+
+        Thread.sleep(60);
+        assertEquals(0, store.tryAcquire("ip:10.0.0.1", interval, 3));
+    }
+
+    @Test
+    void rejectsWithTooManyRequests() {
+        LoginRateLimiter limiter = limiter();
+        for (int i = 0; i < 5; i++) {
+            limiter.checkLogin("10.0.0.1", "Alice");
+        }
+
+        RetryAfterException rejected = assertThrows(RetryAfterException.class,
+                () -> limiter.checkLogin("10.0.0.2", "alice "));
+        assertEquals(429, rejected.getStatus().value());
+        assertTrue(rejected.getRetryAfterSeconds() >= 1);
+    }
+
+    /**
+     * Credential stuffing from one IP against random accounts: only the IP burst reaches
+     * password hashing, while members logging in from their own addresses are all admitted.
+     * Intervals are long enough that no bucket refills during the test. Latency under attack
+     * is measured by {@code benchmark.LoginStuffingLoadRunner}.
+     */
+    @Test
+    void stuffingAttackIsCutToTheIpBurst() {
+        LoginRateLimiter limiter = new LoginRateLimiter(new CountMinLoginAttemptStore(65536, 4),
+                new SimpleMeterRegistry(), Duration.ofHours(1), 20, Duration.ofHours(1), 5);
+
+        int admittedAttackers = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (admitted(limiter, "203.0.113.7", UUID.randomUUID().toString())) {
+                admittedAttackers++;
+            }
+        }
+        assertEquals(20, admittedAttackers);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(admitted(limiter, "192.168.1." + i, "member" + i), "member" + i);
+        }
+    }
+
+    private static boolean admitted(LoginRateLimiter limiter, String ip, String username) {
+        try {
+            limiter.checkLogin(ip, username);
+            return true;
+        } catch (RetryAfterException e) {
+            return false;
+        }
+    }
+
+    private static LoginRateLimiter limiter() {
+        return new LoginRateLimiter(new CountMinLoginAttemptStore(65536, 4), new SimpleMeterRegistry(),
+                Duration.ofSeconds(2), 20, Duration.ofSeconds(30), 5);
+    }
+}
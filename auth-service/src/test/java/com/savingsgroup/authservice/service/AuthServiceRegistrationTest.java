@@ -0,0 +1,236 @@
+package com.savingsgroup.authservice.service;
+
+import com.savingsgroup.authservice.client.NotificationServiceClient;
+import com.savingsgroup.authservice.client.UserServiceClient;
+import com.savingsgroup.authservice.dto.RegisterRequest;
+import com.savingsgroup.authservice.exception.CustomException;
+import com.savingsgroup.authservice.model.OutboxEvent;
+import com.savingsgroup.authservice.model.User;
+import com.savingsgroup.authservice.outbox.NotificationHandler;
+import com.savingsgroup.authservice.outbox.OutboxEventHandler;
+import com.savingsgroup.authservice.outbox.OutboxEventTypes;
+import com.savingsgroup.authservice.outbox.OutboxService;
+import com.savingsgroup.authservice.outbox.UserProvisioningHandler;
+import com.savingsgroup.authservice.repository.UserRepository;
+import com.savingsgroup.authservice.security.JwtKeyManager;
+import com.savingsgroup.authservice.template.MessageTemplates;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Registration must not wait on user-service or notification-service: with both stubbed
+ * to take 500 ms per call, registration latency stays at the cost of the local writes.
+ * Retries must not hash the password a second time, and a replay of the Idempotency-Key
+ * must not issue tokens.
+ */
+class AuthServiceRegistrationTest {
+
+    private static final long SLOW_SERVICE_MILLIS = 500;
+
+    private final Map<String, User> users = new ConcurrentHashMap<>();
+    private final AtomicInteger deliveredSideEffects = new AtomicInteger();
+    private final ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final RefreshTokenService refreshTokenService = mock(RefreshTokenService.class);
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        JwtService jwtService = new JwtService(
+                new JwtKeyManager(mock(MongoTemplate.class), Duration.ofDays(7), 86_400_000L,
+                        "MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY="));
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86_400_000L);
+        jwtService.init();
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.insert(any(User.class))).thenAnswer(invocation -> {
+            User user = invocation.getArgument(0);
+            user.setId(UUID.randomUUID().toString());
+            users.put(user.getUsername(), user);
+            return user;
+        });
+        when(userRepository.findByRegistrationKey(anyString())).thenAnswer(invocation -> users.values().stream()
+                .filter(user -> invocation.getArgument(0).equals(user.getRegistrationKey()))
+                .findFirst());
+
+        // Case-insensitive, like the users collection's default collation
+        when(userRepository.existsByUsername(anyString())).thenAnswer(invocation -> users.values().stream()
+                .anyMatch(user -> user.getUsername().equalsIgnoreCase(invocation.getArgument(0))));
+        when(userRepository.existsByEmail(anyString())).thenAnswer(invocation -> users.values().stream()
+                .anyMatch(user -> user.getEmail().equalsIgnoreCase(invocation.getArgument(0))));
+
+        UserCache userCache = mock(UserCache.class);
+        when(userCache.findByUsername(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(users.get(invocation.<String>getArgument(0))));
+
+        // Slow local stubs of the downstream services
+        UserServiceClient userServiceClient = mock(UserServiceClient.class);
+        when(userServiceClient.createUser(any(), anyString(), anyString())).thenAnswer(invocation -> {
+            Thread.sleep(SLOW_SERVICE_MILLIS);
+            return null;
+        });
+        NotificationServiceClient notificationServiceClient = mock(NotificationServiceClient.class);
+        doAnswer(invocation -> {
+            Thread.sleep(SLOW_SERVICE_MILLIS);
+            return null;
+        }).when(notificationServiceClient).sendNotification(any(), anyString(), anyString());
+
+        Map<String, OutboxEventHandler> handlers = Map.of(
+                OutboxEventTypes.USER_CREATED, new UserProvisioningHandler(userServiceClient, userCache, jwtService),
+                OutboxEventTypes.NOTIFICATION, new NotificationHandler(notificationServiceClient, userCache, jwtService));
+
+        // Stand-in for the outbox collection plus dispatcher: events are delivered in the background
+        OutboxService outboxService = mock(OutboxService.class);
+        doAnswer(invocation -> {
+            OutboxEvent event = OutboxEvent.builder()
+                    .type(invocation.getArgument(0))
+                    .idempotencyKey(invocation.getArgument(1))
+                    .aggregateId(invocation.getArgument(2))
+                    .payload(invocation.getArgument(3))
+                    .build();
+            dispatcher.submit(() -> {
+                handlers.get(event.getType()).handle(event);
+                deliveredSideEffects.incrementAndGet();
+                return null;
+            });
+            return null;
+        }).when(outboxService).enqueue(anyString(), anyString(), anyString(), any());
+
+        when(passwordEncoder.encode(anyString())).thenReturn("{noop}hash");
+
+        authService = new AuthService(
+                userRepository,
+                mock(PasswordResetTokenService.class),
+                passwordEncoder,
+                jwtService,
+                mock(AuthenticationManager.class),
+                mock(EmailService.class),
+                outboxService,
+                userCache,
+                mock(TokenRevocationService.class),
+                refreshTokenService,
+                mock(ApplicationEventPublisher.class),
+                mock(UserReadService.class),
+                new MessageTemplates("classpath*:templates/"));
+        ReflectionTestUtils.setField(authService, "idempotencyWindow", Duration.ofHours(24));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdownNow();
+    }
+
+    @Test
+    void registrationLatencyIsIndependentOfDownstreamServices() throws Exception {
+        int registrations = 200;
+        long[] latencies = new long[registrations];
+
+        for (int i = 0; i < registrations; i++) {
+            long start = System.nanoTime();
+            authService.register(request(i), UUID.randomUUID().toString());
+            latencies[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(latencies);
+        long p99Millis = TimeUnit.NANOSECONDS.toMillis(latencies[(int) Math.ceil(registrations * 0.99) - 1]);
+        assertTrue(p99Millis < SLOW_SERVICE_MILLIS / 5,
+                "p99 registration latency " + p99Millis + " ms should not include downstream calls");
+
+        // Side effects still happen, just off the request path
+        dispatcher.shutdown();
+        assertTrue(dispatcher.awaitTermination(30, TimeUnit.SECONDS));
+        assertEquals(registrations * 2, deliveredSideEffects.get());
+    }
+
+    @Test
+    void retriesHashEachPasswordOnceAndReplayWithoutTokens() {
+        String key = UUID.randomUUID().toString();
+        AuthService.Registration first = authService.register(request(1), key);
+        AuthService.Registration retry = authService.register(request(1), key);
+        assertFalse(first.replayed());
+        assertTrue(retry.replayed());
+        assertEquals(first.response().getId(), retry.response().getId());
+        // The key is not a credential: only the request that stored the user gets tokens
+        assertNotNull(first.response().getAccessToken());
+        assertNull(retry.response().getAccessToken());
+        assertNull(retry.response().getRefreshToken());
+        verify(passwordEncoder, times(1)).encode(anyString());
+
+        // The user is stored, then issuing the refresh token fails; the client's retry finds the user
+        when(refreshTokenService.issue("user2")).thenThrow(new DataAccessResourceFailureException("Timed out"));
+        String failedKey = UUID.randomUUID().toString();
+        assertThrows(DataAccessResourceFailureException.class, () -> authService.register(request(2), failedKey));
+        AuthService.Registration recovered = authService.register(request(2), failedKey);
+
+        assertTrue(recovered.replayed());
+        assertEquals(users.get("user2").getId(), recovered.response().getId());
+        assertNull(recovered.response().getRefreshToken()); // the client logs in
+        verify(refreshTokenService, times(1)).issue("user2");
+        assertEquals(2, users.size());
+        verify(passwordEncoder, times(2)).encode(anyString());
+
+        // The same key cannot replay a different registration
+        CustomException reused = assertThrows(CustomException.class, () -> authService.register(request(3), key));
+        assertEquals(422, reused.getStatus().value());
+    }
+
+    @Test
+    void duplicateIdentityIsRejectedWithoutHashingOrInserting() {
+        authService.register(request(4), UUID.randomUUID().toString());
+
+        RegisterRequest sameUsername = request(5);
+        sameUsername.setUsername("USER4");
+        CustomException taken = assertThrows(CustomException.class,
+                () -> authService.register(sameUsername, UUID.randomUUID().toString()));
+        assertEquals("Username is already taken", taken.getMessage());
+
+        RegisterRequest sameEmail = request(6);
+        sameEmail.setEmail("User4@Example.com");
+        CustomException registered = assertThrows(CustomException.class,
+                () -> authService.register(sameEmail, UUID.randomUUID().toString()));
+        assertEquals("Email is already registered", registered.getMessage());
+
+        assertEquals(1, users.size());
+        verify(passwordEncoder, times(1)).encode(anyString());
+    }
+
+    private static RegisterRequest request(int i) {
+        return RegisterRequest.builder()
+                .firstName("First" + i)
+                .lastName("Last" + i)
+                .username("user" + i)
+                .email("user" + i + "@example.com")
+                .password("Password1")
+                .phoneNumber("+2348000000" + String.format("%03d", i))
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+package com.savingsgroup.authservice.service;
+
+import com.savingsgroup.authservice.model.PasswordResetToken;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Issue and consume semantics against an in-memory stand-in for the
+ * {@code password_reset_tokens} collection.
+ */
+class PasswordResetTokenServiceTest {
+
+    private final Map<String, PasswordResetToken> tokensByUser = new ConcurrentHashMap<>();
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private PasswordResetTokenService passwordResetTokenService;
+
+    @BeforeEach
+    void setUp() {
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(PasswordResetToken.class)))
+                .thenAnswer(invocation -> {
+                    String userId = invocation.<Query>getArgument(0).getQueryObject().getString("userId");
+                    Document set = (Document) invocation.<Update>getArgument(1).getUpdateObject().get("$set");
+                    tokensByUser.put(userId, PasswordResetToken.builder()
+                            .userId(userId)
+                            .tokenHash(set.getString("tokenHash"))
+                            .expiryDate(set.get("expiryDate", Instant.class))
+                            .build());
+                    return null;
+                });
+        when(mongoTemplate.findAndRemove(any(Query.class), eq(PasswordResetToken.class))).thenAnswer(invocation -> {
+            Document query = invocation.<Query>getArgument(0).getQueryObject();
+            Instant now = ((Document) query.get("expiryDate")).get("$gt", Instant.class);
+            for (Map.Entry<String, PasswordResetToken> entry : tokensByUser.entrySet()) {
+                PasswordResetToken token = entry.getValue();
+                if (token.getTokenHash().equals(query.getString("tokenHash")) && token.getExpiryDate().isAfter(now)
+                        && tokensByUser.remove(entry.getKey(), token)) {
+                    return token;
+                }
+            }
+            return null;
+        });
+
+        passwordResetTokenService = new PasswordResetTokenService(mongoTemplate, Duration.ofHours(1));
+    }
+
+    /**
+     * Single use rests on MongoDB applying one findAndRemove atomically; this checks that
+     * consume issues exactly that call, matching on hash and expiry, and nothing else.
+     */
+    @Test
+    void consumeIsOneFindAndRemoveOnHashAndExpiry() throws Exception {
+        String token = passwordResetTokenService.issue("user-1").token();
+        Instant before = Instant.now();
+
+        assertEquals(Optional.of("user-1"), passwordResetTokenService.consume(token));
+
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).upsert(any(Query.class), any(Update.class), eq(PasswordResetToken.class));
+        verify(mongoTemplate).findAndRemove(query.capture(), eq(PasswordResetToken.class));
+        verifyNoMoreInteractions(mongoTemplate);
+
+        Document criteria = query.getValue().getQueryObject();
+        assertEquals(Set.of("tokenHash", "expiryDate"), criteria.keySet());
+        assertEquals(Base64.getUrlEncoder().withoutPadding().encodeToString(MessageDigest.getInstance("SHA-256")
+                .digest(token.getBytes(StandardCharsets.UTF_8))), criteria.getString("tokenHash"));
+        Instant notAfter = ((Document) criteria.get("expiryDate")).get("$gt", Instant.class);
+        assertFalse(notAfter.isBefore(before) || notAfter.isAfter(Instant.now()));
+    }
+
+    @Test
+    void concurrentConsumeOfSameTokenHasSingleWinner() throws Exception {
+        String token = passwordResetTokenService.issue("user-4").token();
+        AtomicInteger successes = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 100; i++) {
+                executor.submit(() -> {
+                    start.await();
+                    passwordResetTokenService.consume(token).ifPresent(userId -> successes.incrementAndGet());
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+
+        assertEquals(1, successes.get());
+        assertTrue(tokensByUser.isEmpty());
+    }
+
+    @Test
+    void newTokenReplacesEarlierOneAndOnlyItsHashIsStored() {
+        String first = passwordResetTokenService.issue("user-2").token();
+        String second = passwordResetTokenService.issue("user-2").token();
+
+        assertEquals(1, tokensByUser.size());
+        assertNotEquals(second, tokensByUser.get("user-2").getTokenHash());
+        assertTrue(passwordResetTokenService.consume(first).isEmpty());
+        assertEquals(Optional.of("user-2"), passwordResetTokenService.consume(second));
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String token = passwordResetTokenService.issue("user-3").token();
+        tokensByUser.get("user-3").setExpiryDate(Instant.now().minusSeconds(1));
+
+        assertTrue(passwordResetTokenService.consume(token).isEmpty());
+    }
+}
@@ -0,0 +1,165 @@
+package com.savingsgroup.authservice.service;
+
+import com.savingsgroup.authservice.exception.CustomException;
+import com.savingsgroup.authservice.model.RefreshTokenFamily;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Rotation semantics under concurrency, against an in-memory stand-in for the
+ * {@code refresh_token_families} collection that applies findAndModify atomically.
+ */
+class RefreshTokenServiceTest {
+
+    private final Map<String, RefreshTokenFamily> families = new ConcurrentHashMap<>();
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+
+        when(mongoTemplate.insert(any(RefreshTokenFamily.class))).thenAnswer(invocation -> {
+            RefreshTokenFamily family = invocation.getArgument(0);
+            families.put(family.getId(), copy(family));
+            return family;
+        });
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(RefreshTokenFamily.class))).thenAnswer(invocation -> {
+            Document query = invocation.<Query>getArgument(0).getQueryObject();
+            Document set = (Document) invocation.<Update>getArgument(1).getUpdateObject().get("$set");
+            AtomicReference<RefreshTokenFamily> before = new AtomicReference<>();
+            families.computeIfPresent(query.getString("_id"), (id, family) -> {
+                if (!family.getTokenHash().equals(query.get("tokenHash"))
+                        || !family.getExpiresAt().isAfter(Instant.now())) {
+                    return family;
+                }
+                before.set(copy(family));
+                RefreshTokenFamily updated = copy(family);
+                updated.setSequence(set.get("sequence", Long.class));
+                updated.setTokenHash(set.getString("tokenHash"));
+                updated.setExpiresAt(set.get("expiresAt", Instant.class));
+                return updated;
+            });
+            return before.get();
+        });
+        when(mongoTemplate.findById(anyString(), eq(RefreshTokenFamily.class)))
+                .thenAnswer(invocation -> families.get(invocation.<String>getArgument(0)));
+        when(mongoTemplate.remove(any(Query.class), eq(RefreshTokenFamily.class))).thenAnswer(invocation -> {
+            Document query = invocation.<Query>getArgument(0).getQueryObject();
+            if (query.containsKey("_id")) {
+                families.remove(query.getString("_id"));
+            } else {
+                families.values().removeIf(family -> family.getUsername().equals(query.getString("username")));
+            }
+            return null;
+        });
+
+        refreshTokenService = new RefreshTokenService(mongoTemplate, new SimpleMeterRegistry(), 604_800_000L);
+    }
+
+    @Test
+    void tenThousandConcurrentRefreshesAllRotate() throws Exception {
+        int sessions = 10_000;
+        List<String> tokens = new ArrayList<>(sessions);
+        for (int i = 0; i < sessions; i++) {
+            tokens.add(refreshTokenService.issue("user" + i));
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<RefreshTokenService.Rotation>> rotations = new ArrayList<>(sessions);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String token : tokens) {
+                rotations.add(executor.submit(() -> {
+                    start.await();
+                    return refreshTokenService.rotate(token);
+                }));
+            }
+            start.countDown();
+            for (Future<RefreshTokenService.Rotation> rotation : rotations) {
+                assertNotNull(rotation.get(30, TimeUnit.SECONDS).refreshToken());
+            }
+        }
+
+        assertEquals(sessions, families.size());
+        assertTrue(families.values().stream().allMatch(family -> family.getSequence() == 1));
+    }
+
+    @Test
+    void replayedTokenRevokesFamily() {
+        String first = refreshTokenService.issue("alice");
+        String second = refreshTokenService.rotate(first).refreshToken();
+
+        CustomException replay = assertThrows(CustomException.class, () -> refreshTokenService.rotate(first));
+        assertEquals(401, replay.getStatus().value());
+        assertTrue(families.isEmpty());
+
+        // The legitimate holder's newer token died with the family
+        assertThrows(CustomException.class, () -> refreshTokenService.rotate(second));
+    }
+
+    @Test
+    void concurrentUseOfSameTokenHasSingleWinner() throws Exception {
+        String token = refreshTokenService.issue("bob");
+        AtomicInteger successes = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 100; i++) {
+                executor.submit(() -> {
+                    start.await();
+                    try {
+                        refreshTokenService.rotate(token);
+                        successes.incrementAndGet();
+                    } catch (CustomException ignored) {
+                        // losers see a reused token
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        }
+
+        assertEquals(1, successes.get());
+    }
+
+    @Test
+    void malformedTokenIsRejected() {
+        assertThrows(CustomException.class, () -> refreshTokenService.rotate("not-a-refresh-token"));
+        assertThrows(CustomException.class, () -> refreshTokenService.rotate("a.b.c"));
+    }
+
+    private static RefreshTokenFamily copy(RefreshTokenFamily family) {
+        return RefreshTokenFamily.builder()
+                .id(family.getId())
+                .username(family.getUsername())
+                .sequence(family.getSequence())
+                .tokenHash(family.getTokenHash())
+                .expiresAt(family.getExpiresAt())
+                .build();
+    }
+}
@@ -0,0 +1,158 @@
+package com.savingsgroup.authservice.service;
+
+import com.savingsgroup.authservice.dto.TokenValidationResult;
+import com.savingsgroup.authservice.exception.CustomException;
+import com.savingsgroup.authservice.model.AccountView;
+import com.savingsgroup.authservice.model.Role;
+import com.savingsgroup.authservice.model.User;
+import com.savingsgroup.authservice.repository.UserRepository;
+import com.savingsgroup.authservice.security.JwtKeyManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class TokenBatchValidatorTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserCache userCache = mock(UserCache.class);
+    private final TokenRevocationService tokenRevocationService = mock(TokenRevocationService.class);
+    private JwtService jwtService;
+    private TokenBatchValidator validator;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(new JwtKeyManager(mock(MongoTemplate.class), Duration.ofDays(7), 86_400_000L,
+                "MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY="));
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86_400_000L);
+        jwtService.init();
+
+        when(userRepository.findAccountsByUsernameIn(anyCollection())).thenAnswer(invocation -> {
+            List<AccountView> found = new ArrayList<>();
+            for (String username : invocation.<Collection<String>>getArgument(0)) {
+                if (username.equalsIgnoreCase("alice")) {
+                    found.add(user("alice"));
+                }
+            }
+            return found;
+        });
+        when(userCache.getIfPresent("bob")).thenReturn(user("bob"));
+
+        validator = new TokenBatchValidator(jwtService, tokenRevocationService, userCache, userRepository,
+                new SimpleMeterRegistry(), 10, 2);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void validatesEachChunkWithOneLookupOfItsUncachedSubjects() {
+        String revoked = jwtService.generateToken(user("alice"));
+        when(tokenRevocationService.isRevoked(jwtService.parseToken(revoked).getId())).thenReturn(true);
+        List<String> tokens = List.of(
+                jwtService.generateToken(user("alice")),
+                "Bearer " + jwtService.generateToken(user("ALICE")),
+                jwtService.generateToken(user("bob")),
+                revoked,
+                expiredToken(user("alice")),
+                jwtService.generateToken(user("carol")));
+
+        List<List<TokenValidationResult>> chunks = new ArrayList<>();
+        validator.validate(tokens, chunks::add);
+
+        assertEquals(List.of(2, 2, 2), chunks.stream().map(List::size).toList());
+        List<TokenValidationResult> results = chunks.stream().flatMap(List::stream).toList();
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+        }
+
+        // Both spellings of alice resolve to the one stored profile
+        assertTrue(results.get(0).isValid());
+        assertTrue(results.get(1).isValid());
+        assertEquals("alice", results.get(1).getUser().getUsername());
+        assertTrue(results.get(2).isValid());
+        assertEquals("bob", results.get(2).getUser().getUsername());
+        assertInvalid(results.get(3), "Invalid or expired token");
+        assertInvalid(results.get(4), "Invalid or expired token");
+        assertInvalid(results.get(5), "User not found");
+
+        // The cached user and the rejected tokens cost no lookup, so the second chunk needs none
+        ArgumentCaptor<Collection<String>> lookups = ArgumentCaptor.forClass(Collection.class);
+        verify(userRepository, times(2)).findAccountsByUsernameIn(lookups.capture());
+        assertEquals(List.of(List.of("alice"), List.of("carol")),
+                lookups.getAllValues().stream().map(List::copyOf).toList());
+    }
+
+    @Test
+    void rejectsTokensOfOutdatedVersionsAndDisabledAccounts() {
+        String beforeReset = jwtService.generateToken(user("bob"));
+        String disabled = jwtService.generateToken(user("bob"));
+        User reset = user("bob");
+        reset.setTokenVersion(1);
+        User blocked = user("bob");
+        blocked.setEnabled(false);
+        when(userCache.getIfPresent("bob")).thenReturn(reset, blocked);
+
+        List<TokenValidationResult> results = validator.validate(List.of(beforeReset, jwtService.generateToken(reset)));
+        assertInvalid(results.get(0), "Invalid or expired token");
+        assertTrue(results.get(1).isValid());
+        assertInvalid(validator.validate(List.of(disabled)).get(0), "Invalid or expired token");
+    }
+
+    @Test
+    void rejectsMalformedTokensAndOversizedBatches() {
+        List<TokenValidationResult> results = validator.validate(List.of("", "Bearer not-a-jwt"));
+
+        assertInvalid(results.get(0), "Invalid or expired token");
+        assertInvalid(results.get(1), "Invalid or expired token");
+        verify(userRepository, never()).findAccountsByUsernameIn(any());
+
+        List<String> tooMany = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            tooMany.add("token");
+        }
+        assertEquals("At most 10 tokens can be validated per request",
+                assertThrows(CustomException.class, () -> validator.validate(tooMany)).getMessage());
+    }
+
+    private String expiredToken(User user) {
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", -60_000L);
+        try {
+            return jwtService.generateToken(user);
+        } finally {
+            ReflectionTestUtils.setField(jwtService, "jwtExpiration", 86_400_000L);
+        }
+    }
+
+    private static void assertInvalid(TokenValidationResult result, String error) {
+        assertFalse(result.isValid());
+        assertEquals(error, result.getError());
+    }
+
+    private static User user(String username) {
+        return User.builder()
+                .id(username + "-id")
+                .username(username)
+                .email(username + "@example.com")
+                .password("")
+                .role(Role.USER)
+                .enabled(true)
+                .accountNonExpired(true)
+                .accountNonLocked(true)
+                .credentialsNonExpired(true)
+                .build();
+    }
+}
@@ -0,0 +1,37 @@
+package com.savingsgroup.authservice.service;
+
+import com.savingsgroup.authservice.event.UserChangedEvent;
+import com.savingsgroup.authservice.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UserVersionServiceTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final UserVersionService service = new UserVersionService(mongoTemplate, Duration.ofMinutes(1), 100);
+
+    @Test
+    void everySpellingOfAUsernameSharesOneEntityRead() {
+        when(mongoTemplate.findOne(any(Query.class), eq(User.class)))
+                .thenReturn(User.builder().tokenVersion(3).build());
+
+        assertTrue(service.isCurrent("Alice", 3));
+        assertTrue(service.isCurrent("ALICE", 3));
+        assertFalse(service.isCurrent("alice", 2));
+        // The entity read applies the users collection's case-insensitive collation
+        verify(mongoTemplate, times(1)).findOne(any(Query.class), eq(User.class));
+
+        service.onUserChanged(new UserChangedEvent("id", "alice", "alice@example.com"));
+        assertTrue(service.isCurrent("Alice", 3));
+        verify(mongoTemplate, times(2)).findOne(any(Query.class), eq(User.class));
+    }
+}
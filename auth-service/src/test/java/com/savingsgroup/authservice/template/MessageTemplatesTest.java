@@ -0,0 +1,60 @@
+package com.savingsgroup.authservice.template;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MessageTemplatesTest {
+
+    @Test
+    void rendersPlaceholdersInDeclaredOrder() throws Exception {
+        MessageTemplates templates = new MessageTemplates("classpath*:templates/");
+
+        String body = templates.render(MessageTemplate.PASSWORD_RESET_EMAIL_BODY, Locale.forLanguageTag("sw-KE"),
+                "Amina", "https://example.org/reset-password?token=abc", "60");
+
+        assertTrue(body.startsWith("Hello Amina,\n\n"));
+        assertTrue(body.contains("\nhttps://example.org/reset-password?token=abc\n"));
+        assertTrue(body.contains("expire in 60 minutes"));
+        assertEquals("Password Reset Request",
+                templates.render(MessageTemplate.PASSWORD_RESET_EMAIL_SUBJECT, Locale.ENGLISH));
+    }
+
+    @Test
+    void requestedLocalesMapToTheNearestLoadedBundle(@TempDir Path dir) throws Exception {
+        try (var defaults = getClass().getResourceAsStream("/templates/messages.properties")) {
+            Files.copy(defaults, dir.resolve("messages.properties"));
+        }
+        Files.writeString(dir.resolve("messages_sw.properties"), "password-reset.email.subject=Kubadilisha Nenosiri\n");
+        MessageTemplates templates = new MessageTemplates(dir.toUri().toString());
+
+        for (String tag : List.of("sw", "sw-KE", "sw-TZ", "sw-Latn-KE-x-private", "SW-ke")) {
+            assertEquals("Kubadilisha Nenosiri", templates.render(MessageTemplate.PASSWORD_RESET_EMAIL_SUBJECT,
+                    Locale.forLanguageTag(tag)), tag);
+        }
+        for (String tag : List.of("en", "en-US", "fr-CA", "und")) {
+            assertEquals("Password Reset Request", templates.render(MessageTemplate.PASSWORD_RESET_EMAIL_SUBJECT,
+                    Locale.forLanguageTag(tag)), tag);
+        }
+        assertEquals("Password Reset Request", templates.render(MessageTemplate.PASSWORD_RESET_EMAIL_SUBJECT, null));
+        assertEquals(2, ((Map<?, ?>) ReflectionTestUtils.getField(templates, "resolved")).size());
+    }
+
+    @Test
+    void compilesLiteralBracesAndRejectsUnknownPlaceholders() {
+        CompiledTemplate template = CompiledTemplate.compile("{{a} {b}-{a}", List.of("a", "b"));
+
+        assertEquals("{a} 2-1", template.render(new String[]{"1", "2"}));
+        assertEquals("{a} -", template.render(new String[0]));
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("{c}", List.of("a")));
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("{a", List.of("a")));
+    }
+}